@@ -7,17 +7,20 @@ import com.agilesprintplus.agilesprint.mapper.UserMapper;
 import com.agilesprintplus.agilesprint.repo.UserRepository;
 import com.agilesprintplus.notification.configs.EmailProperties;
 import com.agilesprintplus.security.config.JwtProps;
+import com.agilesprintplus.security.config.PasswordHashingProps;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Set;
 
 @SpringBootApplication
-@EnableConfigurationProperties({EmailProperties.class, JwtProps.class})
+@EnableScheduling
+@EnableConfigurationProperties({EmailProperties.class, JwtProps.class, PasswordHashingProps.class})
 public class App {
     public static void main(String[] args){
         SpringApplication.run(App.class,args);
@@ -0,0 +1,27 @@
+package com.agilesprintplus.agilesprint.api;
+import com.agilesprintplus.agilesprint.api.dto.ChangeDtos;
+import com.agilesprintplus.agilesprint.service.ChangeFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Synchronisation différentielle : le client conserve le dernier {@code next} reçu et ne récupère
+ * que les tâches et sprints modifiés depuis. Si {@code resyncRequired} est vrai, recharger les listes.
+ */
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin("*")
+@RequiredArgsConstructor
+public class ChangeController {
+
+  private final ChangeFeedService changeFeedService;
+
+  @PreAuthorize("isAuthenticated()")
+  @GetMapping
+  public ResponseEntity<ChangeDtos.Feed> since(@RequestParam(name = "since", defaultValue = "0") long since,
+                                               @RequestParam(name = "limit", defaultValue = "200") int limit) {
+    return ResponseEntity.ok(changeFeedService.since(since, limit));
+  }
+}
@@ -0,0 +1,55 @@
+package com.agilesprintplus.agilesprint.api;
+
+import com.agilesprintplus.agilesprint.exception.PreconditionFailedException;
+
+/**
+ * ETags forts dérivés de la colonne {@code @Version} : {@code "<version>"}, ou {@code "<version>-<n>"}
+ * lorsque la représentation inclut une valeur calculée qui n'incrémente pas la version (nombre de tâches
+ * d'un sprint). La ressource est identifiée par l'URL ; If-Match ne compare que la partie version.
+ */
+public final class ETags {
+
+  private ETags() {}
+
+  public static String of(long version) {
+    return "\"" + version + "\"";
+  }
+
+  public static String of(long version, long derived) {
+    return "\"" + version + "-" + derived + "\"";
+  }
+
+  /** If-None-Match : comparaison faible (un préfixe {@code W/} est accepté), {@code *} correspond toujours. */
+  public static boolean noneMatchHits(String ifNoneMatch, String current) {
+    if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+    for (String tag : ifNoneMatch.split(",")) {
+      String t = tag.trim();
+      if (t.equals("*")) return true;
+      if (t.startsWith("W/")) t = t.substring(2);
+      if (t.equals(current)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * If-Match : version attendue pour une écriture conditionnelle, {@code null} si l'en-tête est absent
+   * ou vaut {@code *}. Un ETag faible ou illisible ne peut jamais correspondre (412).
+   */
+  public static Long expectedVersion(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+    String t = ifMatch.trim();
+    if (t.contains(",")) {
+      throw new PreconditionFailedException("If-Match must carry a single entity tag");
+    }
+    if (t.length() < 3 || !t.startsWith("\"") || !t.endsWith("\"")) {
+      throw new PreconditionFailedException("If-Match must be a strong entity tag");
+    }
+    String value = t.substring(1, t.length() - 1);
+    int dash = value.indexOf('-');
+    try {
+      return Long.parseLong(dash < 0 ? value : value.substring(0, dash));
+    } catch (NumberFormatException e) {
+      throw new PreconditionFailedException("Unknown entity tag: " + t);
+    }
+  }
+}
@@ -1,4 +1,5 @@
 package com.agilesprintplus.agilesprint.api;
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.GamificationDtos;
 import com.agilesprintplus.agilesprint.service.GamificationService;
 import com.agilesprintplus.agilesprint.service.gamification.GamificationLeaderboard;
@@ -10,6 +11,7 @@ import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -23,8 +25,17 @@ public class GamificationController {
   /** Récupère le profil gamification d’un utilisateur */
   @PreAuthorize("hasAnyRole('ADMIN','PRODUCT_OWNER','SCRUM_MASTER','DEVELOPER','TESTER','STAKEHOLDER')")
   @GetMapping("/profile/{userId}")
-  public ResponseEntity<GamificationDtos.Response> getProfile(@PathVariable("userId") UUID userId) {
-    return ResponseEntity.ok(gamificationService.profile(userId));
+  public ResponseEntity<GamificationDtos.Response> getProfile(
+          @PathVariable("userId") UUID userId,
+          @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      Optional<String> current = gamificationService.profileVersion(userId).map(ETags::of);
+      if (current.isPresent() && ETags.noneMatchHits(ifNoneMatch, current.get())) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current.get()).build();
+      }
+    }
+    GamificationDtos.Response body = gamificationService.profile(userId);
+    return ResponseEntity.ok().eTag(ETags.of(body.version())).body(body);
   }
 
   /** Leaderboard des utilisateurs les plus actifs */
@@ -36,6 +47,16 @@ public class GamificationController {
     return ResponseEntity.ok(gamificationService.leaderboard(usernameFilter, pageable));
   }
 
+  /** Leaderboard en mode curseur (xp, userId) : {@code ?cursor=} vide pour la première page */
+  @PreAuthorize("hasAnyRole('ADMIN','PRODUCT_OWNER','SCRUM_MASTER','DEVELOPER','TESTER','STAKEHOLDER')")
+  @GetMapping(value = "/leaderboard", params = "cursor")
+  public ResponseEntity<CursorDtos.Slice<GamificationLeaderboard>> leaderboardByCursor(
+          @RequestParam(name = "usernameFilter", required = false) String usernameFilter,
+          @RequestParam(name = "cursor", required = false) String cursor,
+          @RequestParam(name = "size", defaultValue = "20") int size) {
+    return ResponseEntity.ok(gamificationService.leaderboardByCursor(usernameFilter, cursor, size));
+  }
+
   /** Ajoute de l’XP à un utilisateur (manuellement ou par action spécifique) */
   @PreAuthorize("hasAnyRole('ADMIN','PRODUCT_OWNER','SCRUM_MASTER')")
   @PostMapping("/{userId}/gain-xp")
@@ -1,4 +1,5 @@
 package com.agilesprintplus.agilesprint.api;
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.SprintDtos;
 import com.agilesprintplus.agilesprint.service.SprintService;
 import com.agilesprintplus.agilesprint.service.metriques.SprintTaskStatusCount;
@@ -32,23 +33,37 @@ public class SprintController {
 
   @PreAuthorize("hasAnyRole('ADMIN','PRODUCT_OWNER','SCRUM_MASTER') or hasAuthority('sprint:update')")
   @PutMapping("/{id}")
-  public ResponseEntity<SprintDtos.Response> update(@PathVariable("id") UUID id,
-                                                    @Valid @RequestBody SprintDtos.Update dto) {
-    return ResponseEntity.ok(sprintService.update(id, dto));
+  public ResponseEntity<SprintDtos.Response> update(
+          @PathVariable("id") UUID id,
+          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+          @Valid @RequestBody SprintDtos.Update dto) {
+    SprintDtos.Response body = sprintService.update(id, dto, ETags.expectedVersion(ifMatch));
+    return ResponseEntity.ok().eTag(ETags.of(body.version(), body.tasksCount())).body(body);
   }
 
   @PreAuthorize("hasAnyRole('ADMIN','PRODUCT_OWNER','SCRUM_MASTER') or hasAuthority('sprint:delete')")
   @DeleteMapping("/{id}")
-  public ResponseEntity<Void> delete(@PathVariable("id") UUID id) {
-    sprintService.delete(id);
+  public ResponseEntity<Void> delete(@PathVariable("id") UUID id,
+                                     @RequestParam(name = "detachTasks", defaultValue = "false") boolean detachTasks) {
+    sprintService.delete(id, detachTasks);
     return ResponseEntity.noContent().build();
   }
 
   // ------- LECTURE (ouverte à tout utilisateur authentifié) -------
   @PreAuthorize("isAuthenticated()")
   @GetMapping("/{id}")
-  public ResponseEntity<SprintDtos.Response> get(@PathVariable("id") UUID id) {
-    return ResponseEntity.ok(sprintService.get(id));
+  public ResponseEntity<SprintDtos.Response> get(
+          @PathVariable("id") UUID id,
+          @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      SprintDtos.Revision rev = sprintService.currentRevision(id);
+      String current = ETags.of(rev.version(), rev.tasksCount());
+      if (ETags.noneMatchHits(ifNoneMatch, current)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+      }
+    }
+    SprintDtos.Response body = sprintService.get(id);
+    return ResponseEntity.ok().eTag(ETags.of(body.version(), body.tasksCount())).body(body);
   }
 
   @PreAuthorize("isAuthenticated()")
@@ -57,6 +72,15 @@ public class SprintController {
     return ResponseEntity.ok(sprintService.list(pageable));
   }
 
+  /** Mode curseur (opt-in) : {@code ?cursor=} vide pour la première page, sans total ni COUNT. */
+  @PreAuthorize("isAuthenticated()")
+  @GetMapping(params = "cursor")
+  public ResponseEntity<CursorDtos.Slice<SprintDtos.Response>> listByCursor(
+          @RequestParam(name = "cursor", required = false) String cursor,
+          @RequestParam(name = "size", defaultValue = "20") int size) {
+    return ResponseEntity.ok(sprintService.listByCursor(null, cursor, size));
+  }
+
   @PreAuthorize("isAuthenticated()")
   @GetMapping("/by-name/{name}")
   public ResponseEntity<SprintDtos.Response> getByName(@PathVariable String name) {
@@ -69,6 +93,15 @@ public class SprintController {
     return ResponseEntity.ok(sprintService.search(keyword, pageable));
   }
 
+  @PreAuthorize("isAuthenticated()")
+  @GetMapping(value = "/search", params = "cursor")
+  public ResponseEntity<CursorDtos.Slice<SprintDtos.Response>> searchByCursor(
+          @RequestParam String keyword,
+          @RequestParam(name = "cursor", required = false) String cursor,
+          @RequestParam(name = "size", defaultValue = "20") int size) {
+    return ResponseEntity.ok(sprintService.listByCursor(keyword, cursor, size));
+  }
+
   @PreAuthorize("isAuthenticated()")
   @GetMapping("/active")
   public ResponseEntity<List<SprintDtos.Response>> listActive(
@@ -102,4 +135,10 @@ public class SprintController {
   public ResponseEntity<SprintVelocityView> getVelocity(@PathVariable("id") UUID id) {
     return ResponseEntity.ok(sprintService.getVelocity(id));
   }
+
+  @PreAuthorize("isAuthenticated()")
+  @GetMapping("/{id}/burndown")
+  public ResponseEntity<SprintDtos.Burndown> getBurndown(@PathVariable("id") UUID id) {
+    return ResponseEntity.ok(sprintService.getBurndown(id));
+  }
 }
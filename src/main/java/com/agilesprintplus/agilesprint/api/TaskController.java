@@ -1,13 +1,17 @@
 package com.agilesprintplus.agilesprint.api;
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.TaskDtos;
 import com.agilesprintplus.agilesprint.domain.TaskStatus;
 import com.agilesprintplus.agilesprint.service.TaskService;
 import com.agilesprintplus.agilesprint.service.taskcount.SprintTaskCount;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
 import java.util.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 
@@ -19,58 +23,125 @@ public class TaskController {
 
   private final TaskService taskService;
 
-  @PreAuthorize("hasAuthority('task:create') or hasRole('ADMIN')")
+  @PreAuthorize("hasPermission(null, 'task:create')")
   @PostMapping
   public ResponseEntity<TaskDtos.Response> create(@Valid @RequestBody TaskDtos.Create dto) {
     TaskDtos.Response response = taskService.create(dto);
     return ResponseEntity.status(HttpStatus.CREATED).body(response);
   }
 
-  @PreAuthorize("hasAuthority('task:read') or hasRole('ADMIN')")
+  /** Import en masse : corps JSON (tableau de TaskCreate) ou CSV avec en-tête, lu en flux. */
+  @PreAuthorize("hasPermission(null, 'task:create')")
+  @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+  public ResponseEntity<TaskDtos.BulkImportResult> bulkImport(
+          @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+          HttpServletRequest request) throws IOException {
+    boolean csv = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"));
+    return ResponseEntity.ok(taskService.importTasks(request.getInputStream(), csv));
+  }
+
+  /** Transition de statut en masse (déplacement d'une colonne du tableau) : une seule instruction UPDATE. */
+  @PreAuthorize("hasPermission(null, 'task:update')")
+  @PostMapping("/bulk/status")
+  public ResponseEntity<TaskDtos.BulkStatusResult> bulkStatus(@Valid @RequestBody TaskDtos.BulkStatusChange dto) {
+    return ResponseEntity.ok(taskService.changeStatus(dto));
+  }
+
+  /** Assignation en masse (planification de sprint) : tous les utilisateurs sur toutes les tâches. */
+  @PreAuthorize("hasPermission(null, 'task:update')")
+  @PostMapping("/bulk/assign-users")
+  public ResponseEntity<TaskDtos.BulkAssignmentResult> bulkAssign(@Valid @RequestBody TaskDtos.BulkAssignment dto) {
+    return ResponseEntity.ok(taskService.assignUsersToTasks(dto));
+  }
+
+  @PreAuthorize("hasPermission(null, 'task:read')")
   @GetMapping("/{id}")
-  public ResponseEntity<TaskDtos.Response> get(@PathVariable("id") UUID id) {
-    return ResponseEntity.ok(taskService.get(id));
+  public ResponseEntity<TaskDtos.Response> get(
+          @PathVariable("id") UUID id,
+          @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      String current = ETags.of(taskService.currentVersion(id));
+      if (ETags.noneMatchHits(ifNoneMatch, current)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+      }
+    }
+    TaskDtos.Response body = taskService.get(id);
+    return ResponseEntity.ok().eTag(ETags.of(body.version())).body(body);
   }
 
-  @PreAuthorize("hasAuthority('task:read') or hasRole('ADMIN')")
+  @PreAuthorize("hasPermission(null, 'task:read')")
   @GetMapping
   public ResponseEntity<Page<TaskDtos.Response>> list(Pageable pageable) {
     return ResponseEntity.ok(taskService.list(pageable));
   }
 
-  @PreAuthorize("hasAuthority('task:update') or hasRole('ADMIN')")
+  /** Mode curseur (opt-in) : {@code ?cursor=} vide pour la première page, sans total ni COUNT. */
+  @PreAuthorize("hasPermission(null, 'task:read')")
+  @GetMapping(params = "cursor")
+  public ResponseEntity<CursorDtos.Slice<TaskDtos.Response>> listByCursor(
+          @RequestParam(name = "cursor", required = false) String cursor,
+          @RequestParam(name = "size", defaultValue = "20") int size) {
+    return ResponseEntity.ok(taskService.listByCursor(cursor, size));
+  }
+
+  @PreAuthorize("hasPermission(null, 'task:update')")
   @PutMapping("/{id}")
-  public ResponseEntity<TaskDtos.Response> update(@PathVariable("id") UUID id,
-                                                  @Valid @RequestBody TaskDtos.Update dto) {
-    return ResponseEntity.ok(taskService.update(id, dto));
+  public ResponseEntity<TaskDtos.Response> update(
+          @PathVariable("id") UUID id,
+          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+          @Valid @RequestBody TaskDtos.Update dto) {
+    TaskDtos.Response body = taskService.update(id, dto, ETags.expectedVersion(ifMatch));
+    return ResponseEntity.ok().eTag(ETags.of(body.version())).body(body);
   }
 
-  @PreAuthorize("hasAuthority('task:delete') or hasRole('ADMIN')")
+  @PreAuthorize("hasPermission(null, 'task:delete')")
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> delete(@PathVariable("id") UUID id) {
     taskService.delete(id);
     return ResponseEntity.noContent().build();
   }
 
-  @PreAuthorize("hasAuthority('task:read') or hasRole('ADMIN')")
+  /**
+   * Recherche par mots : chaque mot du mot-clé doit être le début d'un mot du titre ou de la description
+   * ("auth" trouve "authentification", mais "thenti" ne trouve plus rien). Les mots-clés sans mot d'au
+   * moins deux caractères gardent l'ancienne recherche par sous-chaîne.
+   */
+  @PreAuthorize("hasPermission(null, 'task:read')")
   @GetMapping("/search")
-  public ResponseEntity<List<TaskDtos.Response>> search(@RequestParam String keyword) {
-    return ResponseEntity.ok(taskService.searchTask(keyword));
+  public ResponseEntity<List<TaskDtos.Response>> search(@RequestParam String keyword,
+                                                       @RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "50") int size) {
+    Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 200)));
+    Page<TaskDtos.Response> result = taskService.searchTask(keyword, pageable);
+    return ResponseEntity.ok()
+            .header("X-Total-Count", String.valueOf(result.getTotalElements()))
+            .body(result.getContent());
+  }
+
+  /** Export complet en NDJSON, écrit au fil de la lecture (mémoire constante quel que soit le volume). */
+  @PreAuthorize("hasPermission(null, 'task:read')")
+  @GetMapping(value = "/export", produces = "application/x-ndjson")
+  public ResponseEntity<StreamingResponseBody> export() {
+    StreamingResponseBody body = taskService::exportNdjson;
+    return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks.ndjson\"")
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
   }
 
-  @PreAuthorize("hasAuthority('task:read') or hasRole('ADMIN')")
+  @PreAuthorize("hasPermission(null, 'task:read')")
   @GetMapping("/status/{status}/count")
   public ResponseEntity<Long> countByStatus(@PathVariable TaskStatus status) {
     return ResponseEntity.ok(taskService.countByStatus(status));
   }
 
-  @PreAuthorize("hasAuthority('task:read') or hasRole('ADMIN')")
+  @PreAuthorize("hasPermission(null, 'task:read')")
   @GetMapping("/completed/by-sprint")
   public ResponseEntity<List<SprintTaskCount>> countCompletedTasksBySprint() {
     return ResponseEntity.ok(taskService.getCountCompletedTasksBySprint());
   }
 
-  @PreAuthorize("hasAuthority('task:update') or hasRole('ADMIN')")
+  @PreAuthorize("hasPermission(null, 'task:update')")
   @PutMapping("/{taskId}/assign-users")
   public ResponseEntity<TaskDtos.Response> assignUsersToTask(
           @PathVariable("taskId") UUID taskId,
@@ -0,0 +1,29 @@
+package com.agilesprintplus.agilesprint.api.dto;
+
+import com.agilesprintplus.agilesprint.domain.ChangeEntity;
+import com.agilesprintplus.agilesprint.domain.ChangeOp;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public class ChangeDtos {
+
+    public record Change(
+            long seq,
+            ChangeEntity entity,
+            UUID id,
+            ChangeOp op,
+            Instant changedAt
+    ) {}
+
+    @Schema(name = "ChangeFeed")
+    public record Feed(
+            List<Change> changes,
+            @Schema(description = "Value to pass as ?since= on the next call") long next,
+            boolean hasMore,
+            @Schema(description = "The requested position was compacted away: reload full lists, then resume from next")
+            boolean resyncRequired
+    ) {}
+}
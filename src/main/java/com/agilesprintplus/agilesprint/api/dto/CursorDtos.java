@@ -0,0 +1,18 @@
+package com.agilesprintplus.agilesprint.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public class CursorDtos {
+
+    /** Page en mode curseur : pas de total, {@code nextCursor} est null sur la dernière page. */
+    @Schema(name = "CursorSlice")
+    public record Slice<T>(
+            List<T> content,
+            int size,
+            boolean hasNext,
+            @Schema(description = "Opaque cursor to pass back as ?cursor= for the next page")
+            String nextCursor
+    ) {}
+}
@@ -7,6 +7,7 @@ public class GamificationDtos {
             int xp,
             int badges,
             int tasksDone,
-            int sprintsCompleted
+            int sprintsCompleted,
+            long version
     ) {}
 }
\ No newline at end of file
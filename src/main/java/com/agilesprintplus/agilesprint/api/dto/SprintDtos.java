@@ -2,6 +2,7 @@ package com.agilesprintplus.agilesprint.api.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 public class SprintDtos {
 
@@ -37,6 +38,34 @@ public class SprintDtos {
           LocalDate endDate,
           Integer durationDays,
           String goal,
-          long tasksCount
+          long tasksCount,
+          long version
+  ) {}
+
+  /** Ce qui détermine l'ETag d'un sprint, lu sans charger l'entité. */
+  public record Revision(long version, long tasksCount) {}
+
+  /**
+   * Un point par jour du sprint (jusqu'à aujourd'hui) : périmètre et réalisé cumulés,
+   * reste à faire (burndown), réalisé (burnup) et variation de périmètre du jour.
+   */
+  public record ProgressPoint(
+          LocalDate day,
+          long scopeTasks,
+          long scopeStoryPoints,
+          long doneTasks,
+          long doneStoryPoints,
+          long remainingTasks,
+          long remainingStoryPoints,
+          long addedStoryPoints,
+          long removedStoryPoints,
+          double idealRemainingStoryPoints
+  ) {}
+
+  public record Burndown(
+          UUID sprintId,
+          LocalDate startDate,
+          LocalDate endDate,
+          List<ProgressPoint> points
   ) {}
 }
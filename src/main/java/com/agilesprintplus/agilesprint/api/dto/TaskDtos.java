@@ -3,6 +3,7 @@ package com.agilesprintplus.agilesprint.api.dto;
 import com.agilesprintplus.agilesprint.domain.TaskStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 public class TaskDtos {
@@ -32,7 +33,51 @@ public class TaskDtos {
             TaskStatus status,
             Integer storyPoints,
             UUID sprintId,
-            Set<UUID> userIds
+            Set<UUID> userIds,
+            long version
+    ) {}
+
+    public record BulkRowError(long row, String message) {}
+
+    @Schema(name = "TaskBulkImportResult")
+    public record BulkImportResult(
+            long received,
+            long imported,
+            long failed,
+            @Schema(description = "Per-row errors (first 1000)") List<BulkRowError> errors
+    ) {}
+
+    @Schema(name = "TaskBulkStatus", description = "Either taskIds, or sprintId (optionally narrowed by fromStatus)")
+    public record BulkStatusChange(
+            Set<UUID> taskIds,
+            UUID sprintId,
+            @Schema(description = "Only move tasks currently in this status") TaskStatus fromStatus,
+            @NotNull TaskStatus targetStatus
+    ) {}
+
+    public record SprintStatusCount(UUID sprintId, TaskStatus status, long total) {}
+
+    @Schema(name = "TaskBulkStatusResult")
+    public record BulkStatusResult(
+            TaskStatus targetStatus,
+            int updated,
+            List<UUID> taskIds,
+            @Schema(description = "Task counts per status for every sprint touched, after the update")
+            List<SprintStatusCount> counts
+    ) {}
+
+    @Schema(name = "TaskBulkAssignment")
+    public record BulkAssignment(
+            @NotEmpty Set<UUID> taskIds,
+            @NotEmpty Set<UUID> userIds
+    ) {}
+
+    @Schema(name = "TaskBulkAssignmentResult")
+    public record BulkAssignmentResult(
+            int tasks,
+            int users,
+            @Schema(description = "Assignments actually created") int assigned,
+            @Schema(description = "Pairs that already existed") int alreadyAssigned
     ) {}
 
 }
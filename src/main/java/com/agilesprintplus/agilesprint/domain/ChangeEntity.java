@@ -0,0 +1,2 @@
+package com.agilesprintplus.agilesprint.domain;
+public enum ChangeEntity { TASK, SPRINT }
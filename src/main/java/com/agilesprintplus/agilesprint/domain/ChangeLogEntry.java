@@ -0,0 +1,40 @@
+package com.agilesprintplus.agilesprint.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Entrée du journal de modifications (append-only) servi par {@code GET /api/changes}.
+ * Les lignes sont insérées par {@code ChangeFeedServiceImpl} ; le numéro de séquence croît
+ * dans l'ordre des commits.
+ */
+@Entity
+@Table(name="change_log", indexes = {
+        @Index(name = "idx_change_log_entity", columnList = "entity_type, entity_id, seq"),
+        @Index(name = "idx_change_log_changed_at", columnList = "changed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLogEntry {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long seq;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "entity_type", nullable = false, length = 16)
+  private ChangeEntity entityType;
+
+  @Column(name = "entity_id", nullable = false)
+  private UUID entityId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private ChangeOp op;
+
+  @Column(name = "changed_at", nullable = false)
+  private Instant changedAt;
+}
@@ -1,9 +1,12 @@
 package com.agilesprintplus.agilesprint.domain;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.UUID;
 @Entity
-@Table(name="gamification_profile")
+@Table(name="gamification_profile", indexes = {
+        @Index(name = "idx_gamification_xp_user", columnList = "xp, user_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,10 +17,17 @@ public class GamificationProfile {
   private UUID id;
 
   @OneToOne(optional=false)
+  @JoinColumn(name = "user_id")
   private User user;
 
+  @Column(name = "xp")
   private int xp;
   private int badges;
   private int tasksDone;
   private int sprintsCompleted;
+
+  @Version
+  @ColumnDefault("0")
+  @Column(name = "version", nullable = false)
+  private long version;
 }
@@ -1,11 +1,11 @@
 package com.agilesprintplus.agilesprint.domain;
 
+import com.agilesprintplus.security.entity.RoleAuthorities;
 import com.agilesprintplus.security.enums.Permission;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -49,13 +49,8 @@ public enum Role {
     @Getter
     private final Set<Permission> permissions;
 
+    /** Liste immuable partagée, calculée une seule fois (cf. {@link RoleAuthorities}). */
     public List<SimpleGrantedAuthority> getAuthorities() {
-        List<SimpleGrantedAuthority> authorities = new ArrayList<>(
-                permissions.stream()
-                        .map(permission -> new SimpleGrantedAuthority(permission.getPermission()))
-                        .toList()
-        );
-        authorities.add(new SimpleGrantedAuthority("ROLE_" + this.name()));
-        return authorities;
+        return RoleAuthorities.of(this).authorities();
     }
 }
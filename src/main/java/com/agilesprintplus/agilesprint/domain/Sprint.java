@@ -1,11 +1,14 @@
 package com.agilesprintplus.agilesprint.domain;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.*;
 import java.util.*;
 @Entity
-@Table(name="sprints")
+@Table(name="sprints", indexes = {
+        @Index(name = "idx_sprints_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,5 +33,11 @@ public class Sprint {
 
   private boolean enabled = true;
   @CreationTimestamp
+  @Column(name = "created_at")
   private Instant createdAt;
+
+  @Version
+  @ColumnDefault("0")
+  @Column(name = "version", nullable = false)
+  private long version;
 }
@@ -0,0 +1,56 @@
+package com.agilesprintplus.agilesprint.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Agrégat journalier de l'avancement d'un sprint : variations nettes du périmètre et du réalisé
+ * sur la journée, plus les points ajoutés / retirés (bruts). Les séries burndown / burnup sont
+ * les cumuls de ces lignes ; elles sont tenues par deltas ({@code SprintProgressLog}).
+ */
+@Entity
+@Table(name="sprint_daily_progress", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_sprint_daily_progress", columnNames = {"sprint_id", "progress_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SprintDailyProgress {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "sprint_id", nullable = false)
+  private UUID sprintId;
+
+  @Column(name = "progress_date", nullable = false)
+  private LocalDate progressDate;
+
+  @ColumnDefault("0")
+  @Column(name = "scope_tasks", nullable = false)
+  private long scopeTasks;
+
+  @ColumnDefault("0")
+  @Column(name = "scope_story_points", nullable = false)
+  private long scopeStoryPoints;
+
+  @ColumnDefault("0")
+  @Column(name = "done_tasks", nullable = false)
+  private long doneTasks;
+
+  @ColumnDefault("0")
+  @Column(name = "done_story_points", nullable = false)
+  private long doneStoryPoints;
+
+  @ColumnDefault("0")
+  @Column(name = "added_story_points", nullable = false)
+  private long addedStoryPoints;
+
+  @ColumnDefault("0")
+  @Column(name = "removed_story_points", nullable = false)
+  private long removedStoryPoints;
+}
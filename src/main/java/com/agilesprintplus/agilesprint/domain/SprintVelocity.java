@@ -0,0 +1,38 @@
+package com.agilesprintplus.agilesprint.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import java.util.UUID;
+
+/**
+ * Accumulateurs de vélocité d'un sprint, tenus à jour par deltas dans la transaction qui modifie
+ * les tâches ({@code SprintVelocityAccumulator}) ; une ligne par sprint.
+ */
+@Entity
+@Table(name="sprint_velocity")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SprintVelocity {
+  @Id
+  @Column(name = "sprint_id")
+  private UUID sprintId;
+
+  @ColumnDefault("0")
+  @Column(name = "done_tasks", nullable = false)
+  private long doneTasks;
+
+  @ColumnDefault("0")
+  @Column(name = "total_tasks", nullable = false)
+  private long totalTasks;
+
+  @ColumnDefault("0")
+  @Column(name = "done_story_points", nullable = false)
+  private long doneStoryPoints;
+
+  @ColumnDefault("0")
+  @Column(name = "total_story_points", nullable = false)
+  private long totalStoryPoints;
+}
@@ -1,13 +1,16 @@
 package com.agilesprintplus.agilesprint.domain;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 @Entity
-@Table(name="tasks")
+@Table(name="tasks", indexes = {
+        @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -43,5 +46,11 @@ public class Task {
   private boolean enabled = true;
 
   @CreationTimestamp
+  @Column(name = "created_at")
   private Instant createdAt;
+
+  @Version
+  @ColumnDefault("0")
+  @Column(name = "version", nullable = false)
+  private long version;
 }
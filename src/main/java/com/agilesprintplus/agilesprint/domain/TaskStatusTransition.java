@@ -0,0 +1,52 @@
+package com.agilesprintplus.agilesprint.domain;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Journal append-only des transitions de tâches (statut, sprint, points) : une ligne par tâche modifiée,
+ * insérée par lot juste avant le commit ({@code SprintProgressLog}). Une création a un état de départ vide,
+ * une suppression un état d'arrivée vide.
+ */
+@Entity
+@Table(name="task_status_transitions", indexes = {
+        @Index(name = "idx_task_transitions_task", columnList = "task_id, occurred_at"),
+        @Index(name = "idx_task_transitions_occurred_at", columnList = "occurred_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskStatusTransition {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "task_id", nullable = false)
+  private UUID taskId;
+
+  @Column(name = "from_sprint_id")
+  private UUID fromSprintId;
+
+  @Column(name = "to_sprint_id")
+  private UUID toSprintId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "from_status", length = 16)
+  private TaskStatus fromStatus;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "to_status", length = 16)
+  private TaskStatus toStatus;
+
+  @Column(name = "from_story_points")
+  private Integer fromStoryPoints;
+
+  @Column(name = "to_story_points")
+  private Integer toStoryPoints;
+
+  @Column(name = "occurred_at", nullable = false)
+  private Instant occurredAt;
+}
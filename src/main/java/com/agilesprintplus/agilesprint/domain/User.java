@@ -3,13 +3,18 @@ package com.agilesprintplus.agilesprint.domain;
 import com.agilesprintplus.security.entity.Token;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.*;
 import org.hibernate.annotations.*;
 import java.time.Instant;
 import java.util.*;
 @Entity
-@Table(name="users")
+@Table(name="users", indexes = {
+        @Index(name = "ux_users_email_normalized", columnList = "email_normalized", unique = true),
+        @Index(name = "ux_users_username_normalized", columnList = "username_normalized", unique = true),
+        @Index(name = "idx_users_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +33,15 @@ public class User {
   @Column(nullable=false, unique=true, length=160)
   private String email;
 
+  /** Copies minuscules de l'email et du username, indexées pour la recherche de login. */
+  @Setter(AccessLevel.NONE)
+  @Column(name = "email_normalized", length = 160)
+  private String emailNormalized;
+
+  @Setter(AccessLevel.NONE)
+  @Column(name = "username_normalized", length = 64)
+  private String usernameNormalized;
+
   private String firstName;
   private String lastName;
 
@@ -45,6 +59,7 @@ public class User {
 
   private boolean enabled = true;
   @CreationTimestamp
+  @Column(name = "created_at")
   private Instant createdAt;
   @UpdateTimestamp
   private Instant updatedAt;
@@ -58,6 +73,22 @@ public class User {
   @Column(nullable = false)
   private boolean passwordChangeRequired = false;
 
+  /** Incrémenté à chaque changement de rôles, d'activation ou de mot de passe (invalide les access tokens). */
+  @ColumnDefault("0")
+  @Column(nullable = false)
+  private long securityVersion;
+
+  public static String normalizeLogin(String login) {
+    return login == null ? null : login.trim().toLowerCase(Locale.ROOT);
+  }
+
+  @PrePersist
+  @PreUpdate
+  void normalizeLogins() {
+    this.emailNormalized = normalizeLogin(email);
+    this.usernameNormalized = normalizeLogin(username);
+  }
+
   public void addTask(Task t) {
     this.tasks.add(t);
     t.getUsers().add(this);
@@ -2,6 +2,7 @@ package com.agilesprintplus.agilesprint.exception;
 
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -29,11 +30,31 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.CONFLICT, ex.getMessage(), req);
     }
 
+    // If-Match ne correspond plus à la version courante
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiErrorResponse> handlePreconditionFailed(PreconditionFailedException ex, WebRequest req) {
+        return build(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), req);
+    }
+
+    // Modification concurrente détectée au flush (@Version)
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLock(ObjectOptimisticLockingFailureException ex, WebRequest req) {
+        return build(HttpStatus.CONFLICT, "Resource was modified concurrently, reload and retry", req);
+    }
+
     @ExceptionHandler(PasswordChangeRequiredException.class)
     public ResponseEntity<ApiErrorResponse> handlePasswordChange(PasswordChangeRequiredException ex, WebRequest req) {
         return build(HttpStatus.PRECONDITION_REQUIRED, ex.getMessage(), req);
     }
 
+    // Surcharge temporaire (ex: file de hachage des mots de passe pleine) : le client peut réessayer
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiErrorResponse> handleUnavailable(ServiceUnavailableException ex, WebRequest req) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req, headers);
+    }
+
     // Validation @Valid sur @RequestBody
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiErrorResponse> handleBeanValidation(MethodArgumentNotValidException ex, WebRequest req) {
@@ -83,8 +104,12 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, msg, req);
     }
     private ResponseEntity<ApiErrorResponse> build(HttpStatus status, String message, WebRequest req) {
+        return build(status, message, req, HttpHeaders.EMPTY);
+    }
+
+    private ResponseEntity<ApiErrorResponse> build(HttpStatus status, String message, WebRequest req, HttpHeaders headers) {
         String path = req.getDescription(false).replace("uri=", "");
-        return ResponseEntity.status(status).body(new ApiErrorResponse(status, message, path));
+        return ResponseEntity.status(status).headers(headers).body(new ApiErrorResponse(status, message, path));
     }
 
     //----
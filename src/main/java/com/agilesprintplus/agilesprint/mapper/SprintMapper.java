@@ -32,6 +32,7 @@ public interface SprintMapper {
     @Mapping(target = "enabled", constant = "true")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "durationDays", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Sprint toEntity(SprintDtos.Create dto);
     @BeanMapping(ignoreByDefault = true, nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mappings({
@@ -0,0 +1,46 @@
+package com.agilesprintplus.agilesprint.repo;
+
+import com.agilesprintplus.agilesprint.domain.ChangeLogEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query(value = "SELECT * FROM change_log WHERE seq > :since ORDER BY seq LIMIT :limit", nativeQuery = true)
+    List<ChangeLogEntry> findAfter(@Param("since") long since, @Param("limit") int limit);
+
+    @Query("SELECT MIN(c.seq) FROM ChangeLogEntry c")
+    Long findMinSeq();
+
+    @Query("SELECT MAX(c.seq) FROM ChangeLogEntry c")
+    Long findMaxSeq();
+
+    /** Compactage : entrées anciennes remplacées par une entrée plus récente sur la même entité. */
+    @Modifying
+    @Transactional
+    @Query(value = """
+           DELETE FROM change_log c
+           WHERE c.changed_at < :cutoff
+             AND EXISTS (SELECT 1 FROM change_log n
+                         WHERE n.entity_type = c.entity_type AND n.entity_id = c.entity_id AND n.seq > c.seq)
+           """, nativeQuery = true)
+    int deleteSuperseded(@Param("cutoff") Instant cutoff);
+
+    /** Purge au-delà de la rétention ; la dernière entrée est conservée pour que la séquence reste lisible. */
+    @Modifying
+    @Transactional
+    @Query(value = """
+           DELETE FROM change_log
+           WHERE changed_at < :cutoff
+             AND seq < (SELECT MAX(seq) FROM change_log)
+           """, nativeQuery = true)
+    int deleteExpired(@Param("cutoff") Instant cutoff);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 @Repository
@@ -14,6 +15,10 @@ public interface GamificationProfileRepository extends JpaRepository<Gamificatio
 
     Optional<GamificationProfile> findByUser_Id(UUID userId);
     boolean existsByUser_Id(UUID userId);
+
+    /** Lecture de la seule version (ETag) sans charger l'entité. */
+    @Query("SELECT p.version FROM GamificationProfile p WHERE p.user.id = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") UUID userId);
     @Query(value = """
     SELECT 
         p.user_id AS userId,
@@ -27,23 +32,58 @@ public interface GamificationProfileRepository extends JpaRepository<Gamificatio
     ORDER BY p.xp DESC, p.badges DESC, p.tasks_done DESC
     """, nativeQuery = true)
     Page<GamificationLeaderboard> leaderboard(@Param("username") String username, Pageable pageable);
+
+    /** Classement par clé (xp, user_id) décroissante ; à égalité d'XP l'ordre suit user_id. */
+    @Query(value = """
+    SELECT
+        p.user_id AS userId,
+        p.xp AS xp,
+        p.badges AS badges,
+        p.tasks_done AS tasksDone,
+        p.sprints_completed AS sprintsCompleted
+    FROM gamification_profile p
+    JOIN users u ON p.user_id = u.id
+    WHERE (:username IS NULL OR LOWER(CAST(u.username AS TEXT)) LIKE LOWER(CONCAT('%', CAST(:username AS TEXT), '%')))
+    ORDER BY p.xp DESC, p.user_id DESC
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<GamificationLeaderboard> leaderboardKeysetFirst(@Param("username") String username, @Param("limit") int limit);
+
+    @Query(value = """
+    SELECT
+        p.user_id AS userId,
+        p.xp AS xp,
+        p.badges AS badges,
+        p.tasks_done AS tasksDone,
+        p.sprints_completed AS sprintsCompleted
+    FROM gamification_profile p
+    JOIN users u ON p.user_id = u.id
+    WHERE (:username IS NULL OR LOWER(CAST(u.username AS TEXT)) LIKE LOWER(CONCAT('%', CAST(:username AS TEXT), '%')))
+      AND (p.xp, p.user_id) < (:xp, :userId)
+    ORDER BY p.xp DESC, p.user_id DESC
+    LIMIT :limit
+    """, nativeQuery = true)
+    List<GamificationLeaderboard> leaderboardKeysetAfter(@Param("username") String username,
+                                                         @Param("xp") int xp,
+                                                         @Param("userId") UUID userId,
+                                                         @Param("limit") int limit);
     Page<GamificationProfile> findAllByOrderByXpDescBadgesDescTasksDoneDesc(Pageable pageable);
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE GamificationProfile p SET p.xp = p.xp + :delta WHERE p.user.id = :userId")
+    @Query("UPDATE GamificationProfile p SET p.xp = p.xp + :delta, p.version = p.version + 1 WHERE p.user.id = :userId")
     int addXp(@Param("userId") UUID userId, @Param("delta") int delta);
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE GamificationProfile p SET p.badges = p.badges + :delta WHERE p.user.id = :userId")
+    @Query("UPDATE GamificationProfile p SET p.badges = p.badges + :delta, p.version = p.version + 1 WHERE p.user.id = :userId")
     int addBadges(@Param("userId") UUID userId, @Param("delta") int delta);
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE GamificationProfile p SET p.tasksDone = p.tasksDone + :delta WHERE p.user.id = :userId")
+    @Query("UPDATE GamificationProfile p SET p.tasksDone = p.tasksDone + :delta, p.version = p.version + 1 WHERE p.user.id = :userId")
     int addTasksDone(@Param("userId") UUID userId, @Param("delta") int delta);
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE GamificationProfile p SET p.sprintsCompleted = p.sprintsCompleted + :delta WHERE p.user.id = :userId")
+    @Query("UPDATE GamificationProfile p SET p.sprintsCompleted = p.sprintsCompleted + :delta, p.version = p.version + 1 WHERE p.user.id = :userId")
     int addSprintsCompleted(@Param("userId") UUID userId, @Param("delta") int delta);
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
            UPDATE GamificationProfile p
-           SET p.xp=0, p.badges=0, p.tasksDone=0, p.sprintsCompleted=0
+           SET p.xp=0, p.badges=0, p.tasksDone=0, p.sprintsCompleted=0, p.version = p.version + 1
            WHERE p.user.id = :userId
            """)
     int resetProfile(@Param("userId") UUID userId);
@@ -0,0 +1,50 @@
+package com.agilesprintplus.agilesprint.repo;
+
+import com.agilesprintplus.agilesprint.domain.SprintDailyProgress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SprintDailyProgressRepository extends JpaRepository<SprintDailyProgress, Long> {
+
+    /** Au plus une ligne par jour ayant connu une modification : quelques centaines de points par sprint. */
+    List<SprintDailyProgress> findBySprintIdAndProgressDateLessThanEqualOrderByProgressDateAsc(UUID sprintId,
+                                                                                               LocalDate until);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+           INSERT INTO sprint_daily_progress (sprint_id, progress_date, scope_tasks, scope_story_points,
+                                              done_tasks, done_story_points, added_story_points, removed_story_points)
+           VALUES (:sprintId, :day, :scopeTasks, :scopeStoryPoints,
+                   :doneTasks, :doneStoryPoints, :addedStoryPoints, :removedStoryPoints)
+           ON CONFLICT (sprint_id, progress_date) DO UPDATE SET
+             scope_tasks          = sprint_daily_progress.scope_tasks          + EXCLUDED.scope_tasks,
+             scope_story_points   = sprint_daily_progress.scope_story_points   + EXCLUDED.scope_story_points,
+             done_tasks           = sprint_daily_progress.done_tasks           + EXCLUDED.done_tasks,
+             done_story_points    = sprint_daily_progress.done_story_points    + EXCLUDED.done_story_points,
+             added_story_points   = sprint_daily_progress.added_story_points   + EXCLUDED.added_story_points,
+             removed_story_points = sprint_daily_progress.removed_story_points + EXCLUDED.removed_story_points
+           """, nativeQuery = true)
+    int addDelta(@Param("sprintId") UUID sprintId,
+                 @Param("day") LocalDate day,
+                 @Param("scopeTasks") long scopeTasks,
+                 @Param("scopeStoryPoints") long scopeStoryPoints,
+                 @Param("doneTasks") long doneTasks,
+                 @Param("doneStoryPoints") long doneStoryPoints,
+                 @Param("addedStoryPoints") long addedStoryPoints,
+                 @Param("removedStoryPoints") long removedStoryPoints);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SprintDailyProgress p WHERE p.sprintId = :sprintId")
+    int deleteBySprintId(@Param("sprintId") UUID sprintId);
+}
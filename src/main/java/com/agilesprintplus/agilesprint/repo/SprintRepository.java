@@ -1,18 +1,37 @@
 package com.agilesprintplus.agilesprint.repo;
 
 import com.agilesprintplus.agilesprint.domain.Sprint;
+import com.agilesprintplus.agilesprint.service.calendar.SprintRangeView;
 import com.agilesprintplus.agilesprint.service.metriques.SprintTaskStatusCount;
-import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
 public interface SprintRepository extends JpaRepository<Sprint, UUID> {
     Optional<Sprint> findByNameIgnoreCase(String name);
     boolean existsByNameIgnoreCase(String name);
+
+    /**
+     * Verrou de ligne pris avant une suppression ensembliste : une insertion concurrente de tâche dans
+     * ce sprint (verrou de clé étrangère) attend la fin de la transaction au lieu de la faire échouer.
+     */
+    @Query(value = "SELECT id FROM sprints WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<UUID> lockById(@Param("id") UUID id);
+
+    /** Suppression sans chargement de l'entité (ni de la collection {@code tasks} en cascade). */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Sprint s WHERE s.id = :id")
+    int deleteSprintById(@Param("id") UUID id);
+
+    /** Lecture de la seule version (ETag) sans charger l'entité. */
+    @Query("SELECT s.version FROM Sprint s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
     @Query("""
            SELECT s FROM Sprint s
            WHERE (:keyword IS NULL OR
@@ -21,6 +40,35 @@ public interface SprintRepository extends JpaRepository<Sprint, UUID> {
            """)
     Page<Sprint> search(@Param("keyword") String keyword, Pageable pageable);
 
+    /** Pagination par clé (createdAt, id) décroissante, filtre optionnel comme {@link #search}. */
+    @Query(value = """
+           SELECT * FROM sprints s
+           WHERE (CAST(:keyword AS TEXT) IS NULL
+                  OR LOWER(s.name) LIKE LOWER(CONCAT('%', CAST(:keyword AS TEXT), '%'))
+                  OR LOWER(COALESCE(s.goal, '')) LIKE LOWER(CONCAT('%', CAST(:keyword AS TEXT), '%')))
+           ORDER BY s.created_at DESC, s.id DESC
+           LIMIT :limit
+           """, nativeQuery = true)
+    List<Sprint> findKeysetFirst(@Param("keyword") String keyword, @Param("limit") int limit);
+
+    @Query(value = """
+           SELECT * FROM sprints s
+           WHERE (CAST(:keyword AS TEXT) IS NULL
+                  OR LOWER(s.name) LIKE LOWER(CONCAT('%', CAST(:keyword AS TEXT), '%'))
+                  OR LOWER(COALESCE(s.goal, '')) LIKE LOWER(CONCAT('%', CAST(:keyword AS TEXT), '%')))
+             AND (s.created_at, s.id) < (:createdAt, :id)
+           ORDER BY s.created_at DESC, s.id DESC
+           LIMIT :limit
+           """, nativeQuery = true)
+    List<Sprint> findKeysetAfter(@Param("keyword") String keyword,
+                                 @Param("createdAt") Instant createdAt,
+                                 @Param("id") UUID id,
+                                 @Param("limit") int limit);
+
+    /** Chargement de l'index des intervalles de dates. */
+    @Query("SELECT s.id AS id, s.startDate AS startDate, s.endDate AS endDate FROM Sprint s")
+    List<SprintRangeView> findAllRanges();
+
     @Query("SELECT s FROM Sprint s WHERE s.startDate <= :today AND s.endDate >= :today ORDER BY s.startDate DESC")
     List<Sprint> findActive(@Param("today") LocalDate today);
     Optional<Sprint> findFirstByStartDateLessThanEqualAndEndDateGreaterThanEqualOrderByStartDateDesc(LocalDate today1, LocalDate today2);
@@ -30,6 +78,17 @@ public interface SprintRepository extends JpaRepository<Sprint, UUID> {
              AND s.startDate <= :end
            """)
     List<Sprint> findOverlapping(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    /** Contrôle d'écriture : existence d'un autre sprint chevauchant [start, end], sans charger d'entité. */
+    @Query("""
+           SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Sprint s
+           WHERE s.endDate   >= :start
+             AND s.startDate <= :end
+             AND (:excludeId IS NULL OR s.id <> :excludeId)
+           """)
+    boolean existsOverlapping(@Param("start") LocalDate start,
+                              @Param("end") LocalDate end,
+                              @Param("excludeId") UUID excludeId);
     @Query("""
            SELECT t.status AS status, COUNT(t) AS total
            FROM Task t
@@ -37,17 +96,4 @@ public interface SprintRepository extends JpaRepository<Sprint, UUID> {
            GROUP BY t.status
            """)
     List<SprintTaskStatusCount> countTasksByStatus(@Param("sprintId") UUID sprintId);
-    @Query("""
-           SELECT 
-             s.id AS sprintId,
-             SUM(CASE WHEN t.status = com.agilesprintplus.agilesprint.domain.TaskStatus.DONE THEN 1 ELSE 0 END)         AS doneTasks,
-             COUNT(t)                                                                                                     AS totalTasks,
-             SUM(CASE WHEN t.status = com.agilesprintplus.agilesprint.domain.TaskStatus.DONE THEN COALESCE(t.storyPoints,0) ELSE 0 END) AS doneStoryPoints,
-             SUM(COALESCE(t.storyPoints,0))                                                                               AS totalStoryPoints
-           FROM Sprint s
-           LEFT JOIN Task t ON t.sprint = s
-           WHERE s.id = :sprintId
-           GROUP BY s.id
-           """)
-    Optional<SprintVelocityView> getVelocity(@Param("sprintId") UUID sprintId);
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.agilesprintplus.agilesprint.repo;
+
+import com.agilesprintplus.agilesprint.domain.SprintVelocity;
+import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SprintVelocityRepository extends JpaRepository<SprintVelocity, UUID> {
+
+    /** Lecture par clé primaire ; un sprint sans ligne (aucune tâche encore) renvoie des zéros. */
+    @Query("""
+           SELECT s.id AS sprintId,
+                  COALESCE(v.doneTasks, 0) AS doneTasks,
+                  COALESCE(v.totalTasks, 0) AS totalTasks,
+                  COALESCE(v.doneStoryPoints, 0) AS doneStoryPoints,
+                  COALESCE(v.totalStoryPoints, 0) AS totalStoryPoints
+           FROM Sprint s
+           LEFT JOIN SprintVelocity v ON v.sprintId = s.id
+           WHERE s.id = :sprintId
+           """)
+    Optional<SprintVelocityView> findView(@Param("sprintId") UUID sprintId);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+           INSERT INTO sprint_velocity (sprint_id, done_tasks, total_tasks, done_story_points, total_story_points)
+           VALUES (:sprintId, :doneTasks, :totalTasks, :doneStoryPoints, :totalStoryPoints)
+           ON CONFLICT (sprint_id) DO UPDATE SET
+             done_tasks         = sprint_velocity.done_tasks         + EXCLUDED.done_tasks,
+             total_tasks        = sprint_velocity.total_tasks        + EXCLUDED.total_tasks,
+             done_story_points  = sprint_velocity.done_story_points  + EXCLUDED.done_story_points,
+             total_story_points = sprint_velocity.total_story_points + EXCLUDED.total_story_points
+           """, nativeQuery = true)
+    int addDelta(@Param("sprintId") UUID sprintId,
+                 @Param("doneTasks") long doneTasks,
+                 @Param("totalTasks") long totalTasks,
+                 @Param("doneStoryPoints") long doneStoryPoints,
+                 @Param("totalStoryPoints") long totalStoryPoints);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SprintVelocity v WHERE v.sprintId = :sprintId")
+    int deleteBySprintId(@Param("sprintId") UUID sprintId);
+}
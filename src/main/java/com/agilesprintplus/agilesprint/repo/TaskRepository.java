@@ -4,15 +4,26 @@ import com.agilesprintplus.agilesprint.api.dto.UserDtos;
 import com.agilesprintplus.agilesprint.domain.Task;
 import com.agilesprintplus.agilesprint.domain.TaskStatus;
 import com.agilesprintplus.agilesprint.domain.User;
+import com.agilesprintplus.agilesprint.service.assignment.TaskAssigneeView;
+import com.agilesprintplus.agilesprint.service.search.TaskTextView;
+import com.agilesprintplus.agilesprint.service.taskcount.SprintStatusTotal;
 import com.agilesprintplus.agilesprint.service.taskcount.SprintTaskCount;
+import com.agilesprintplus.agilesprint.service.taskcount.SprintTaskTotal;
+import com.agilesprintplus.agilesprint.service.transition.SprintTaskView;
+import com.agilesprintplus.agilesprint.service.transition.TaskTransitionView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.mapstruct.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificationExecutor<Task> {
@@ -21,8 +32,26 @@ public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificat
     List<Task> findByTitleContainingIgnoreCase(String keyword);
     boolean existsByTitleIgnoreCase(String titleTask);
     Page<Task> findBySprint_Id(UUID sprintId, Pageable pageable);
+
+    /** Lecture de la seule version (ETag) sans charger l'entité. */
+    @Query("SELECT t.version FROM Task t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.version = t.version + 1 WHERE t.id IN :ids")
+    int bumpVersions(@Param("ids") Collection<UUID> ids);
     long countBySprint_Id(UUID sprintId);
 
+    /** Nombre de tâches d'une page de sprints, en une requête groupée (les sprints vides sont absents). */
+    @Query("""
+           SELECT t.sprint.id AS sprintId, COUNT(t) AS total
+           FROM Task t
+           WHERE t.sprint.id IN :sprintIds
+           GROUP BY t.sprint.id
+           """)
+    List<SprintTaskTotal> countBySprintIds(@Param("sprintIds") Collection<UUID> sprintIds);
+
     @Query("""
            SELECT t FROM Task t
            WHERE (:keyword IS NULL OR
@@ -43,4 +72,141 @@ public interface TaskRepository extends JpaRepository<Task, UUID>, JpaSpecificat
    """)
     List<SprintTaskCount> countTasksBySprintAndStatus(@Param("status") TaskStatus status);
 
+    /** Pagination par clé (createdAt, id) décroissante : ni OFFSET ni COUNT. */
+    @Query(value = "SELECT * FROM tasks ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Task> findKeysetFirst(@Param("limit") int limit);
+
+    @Query(value = """
+           SELECT * FROM tasks
+           WHERE (created_at, id) < (:createdAt, :id)
+           ORDER BY created_at DESC, id DESC
+           LIMIT :limit
+           """, nativeQuery = true)
+    List<Task> findKeysetAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, @Param("limit") int limit);
+
+    /** Lecture en flux pour l'export : curseur JDBC par lots, entités en lecture seule. */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Task t")
+    Stream<Task> streamAll();
+
+    /** Chargement de l'index de recherche, par lots ordonnés sur l'id. */
+    @Query(value = "SELECT id, title, description FROM tasks ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<TaskTextView> findTextFirst(@Param("limit") int limit);
+
+    @Query(value = "SELECT id, title, description FROM tasks WHERE id > :after ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<TaskTextView> findTextAfter(@Param("after") UUID after, @Param("limit") int limit);
+
+    /** Assignations d'un lot de tâches, lues directement dans la table de jointure (sans charger les User). */
+    @Query(value = "SELECT tu.task_id AS taskId, tu.user_id AS userId FROM task_user tu WHERE tu.task_id IN (:taskIds)",
+           nativeQuery = true)
+    List<TaskAssigneeView> findAssigneesByTaskIds(@Param("taskIds") Collection<UUID> taskIds);
+
+    /** Suppression ensembliste d'un sprint, étape 1 : assignations des tâches du sprint. */
+    @Modifying
+    @Transactional
+    @Query(value = """
+           DELETE FROM task_user tu
+           USING tasks t
+           WHERE tu.task_id = t.id AND t.sprint_id = :sprintId
+           """, nativeQuery = true)
+    int deleteAssignmentsBySprintId(@Param("sprintId") UUID sprintId);
+
+    /** Étape 2 : les tâches elles-mêmes, sans passer par la cascade JPA ; seul l'état utile au journal est renvoyé. */
+    @Transactional
+    @Query(value = """
+           DELETE FROM tasks WHERE sprint_id = :sprintId
+           RETURNING id AS taskId, status AS status, story_points AS storyPoints
+           """, nativeQuery = true)
+    List<SprintTaskView> deleteBySprintIdReturning(@Param("sprintId") UUID sprintId);
+
+    /** Variante : les tâches du sprint rejoignent le backlog (version incrémentée pour les ETags). */
+    @Transactional
+    @Query(value = """
+           UPDATE tasks SET sprint_id = NULL, version = version + 1
+           WHERE sprint_id = :sprintId
+           RETURNING id AS taskId, status AS status, story_points AS storyPoints
+           """, nativeQuery = true)
+    List<SprintTaskView> detachFromSprint(@Param("sprintId") UUID sprintId);
+
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Assignation en masse : produit cartésien tâches × utilisateurs inséré en une instruction.
+     * Les couples déjà présents sont ignorés ; seuls les couples réellement ajoutés sont renvoyés.
+     */
+    @Transactional
+    @Query(value = """
+           INSERT INTO task_user (task_id, user_id)
+           SELECT t.id, u.id FROM tasks t CROSS JOIN users u
+           WHERE t.id IN (:taskIds) AND u.id IN (:userIds)
+           ON CONFLICT DO NOTHING
+           RETURNING task_id AS taskId, user_id AS userId
+           """, nativeQuery = true)
+    List<TaskAssigneeView> insertAssignments(@Param("taskIds") Collection<UUID> taskIds,
+                                             @Param("userIds") Collection<UUID> userIds);
+
+    /** Tâches avec leur sprint, pour un usage hors transaction (notifications). */
+    @EntityGraph(attributePaths = "sprint")
+    List<Task> findWithSprintByIdIn(Collection<UUID> ids);
+
+    /**
+     * Transition en masse sur une liste d'ids, en une seule instruction : les lignes sont verrouillées
+     * dans la sous-requête, par id croissant pour que deux lots qui se recouvrent ne puissent pas
+     * s'interbloquer, et renvoyées avec leur statut précédent. Les tâches déjà au statut cible
+     * (ou qui ne sont plus au statut {@code fromStatus}, s'il est fourni) sont ignorées.
+     */
+    @Transactional
+    @Query(value = """
+           UPDATE tasks t SET status = :target, version = t.version + 1
+           FROM (SELECT id, status FROM tasks
+                 WHERE id IN (:ids)
+                   AND status IS DISTINCT FROM :target
+                   AND (CAST(:fromStatus AS varchar) IS NULL OR status = :fromStatus)
+                 ORDER BY id
+                 FOR UPDATE) prev
+           WHERE t.id = prev.id
+           RETURNING t.id AS taskId, t.sprint_id AS sprintId, prev.status AS previousStatus, t.story_points AS storyPoints
+           """, nativeQuery = true)
+    List<TaskTransitionView> transitionByIds(@Param("ids") Collection<UUID> ids,
+                                             @Param("fromStatus") String fromStatus,
+                                             @Param("target") String target);
+
+    /** Transition en masse de toutes les tâches d'un sprint (éventuellement restreintes à un statut). */
+    @Transactional
+    @Query(value = """
+           UPDATE tasks t SET status = :target, version = t.version + 1
+           FROM (SELECT id, status FROM tasks
+                 WHERE sprint_id = :sprintId
+                   AND status IS DISTINCT FROM :target
+                   AND (CAST(:fromStatus AS varchar) IS NULL OR status = :fromStatus)
+                 ORDER BY id
+                 FOR UPDATE) prev
+           WHERE t.id = prev.id
+           RETURNING t.id AS taskId, t.sprint_id AS sprintId, prev.status AS previousStatus, t.story_points AS storyPoints
+           """, nativeQuery = true)
+    List<TaskTransitionView> transitionBySprint(@Param("sprintId") UUID sprintId,
+                                                @Param("fromStatus") String fromStatus,
+                                                @Param("target") String target);
+
+    @Query("""
+           SELECT t.sprint.id AS sprintId, t.status AS status, COUNT(t) AS total
+           FROM Task t
+           WHERE t.sprint.id IN :sprintIds
+           GROUP BY t.sprint.id, t.status
+           """)
+    List<SprintStatusTotal> countByStatusForSprints(@Param("sprintIds") Collection<UUID> sprintIds);
+
+    /** Référence pour la réconciliation des compteurs en mémoire. */
+    @Query("""
+           SELECT t.sprint.id AS sprintId, t.status AS status, COUNT(t) AS total
+           FROM Task t
+           GROUP BY t.sprint.id, t.status
+           """)
+    List<SprintStatusTotal> countGroupedBySprintAndStatus();
+
 }
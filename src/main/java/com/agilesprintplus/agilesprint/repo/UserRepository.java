@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,12 +17,25 @@ import java.util.UUID;
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
 
-    @Query("SELECT u FROM User u WHERE LOWER(u.username) = LOWER(:username)")
+    @Query("SELECT u FROM User u WHERE u.usernameNormalized = LOWER(TRIM(:username))")
     Optional<User> findByUsernameIgnoreCase(@Param("username") String username);
-    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    @Query("SELECT u FROM User u WHERE u.emailNormalized = LOWER(TRIM(:email))")
     Optional<User> findByEmailIgnoreCase(@Param("email") String email);
-    boolean existsByUsernameIgnoreCase(String username);
-    boolean existsByEmailIgnoreCase(String email);
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.usernameNormalized = LOWER(TRIM(:username))")
+    boolean existsByUsernameIgnoreCase(@Param("username") String username);
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.emailNormalized = LOWER(TRIM(:email))")
+    boolean existsByEmailIgnoreCase(@Param("email") String email);
+
+    /**
+     * Login par email ou username en une seule requête (deux index uniques) ;
+     * la correspondance sur l'email est renvoyée en premier. Attend un login déjà normalisé.
+     */
+    @Query("""
+           SELECT u FROM User u
+           WHERE u.emailNormalized = :login OR u.usernameNormalized = :login
+           ORDER BY CASE WHEN u.emailNormalized = :login THEN 0 ELSE 1 END
+           """)
+    List<User> findAllByNormalizedLogin(@Param("login") String login);
     @Query("""
            SELECT u FROM User u
            WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%'))
@@ -34,6 +49,24 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
     @Query("SELECT u FROM User u WHERE u.enabled = false")
     Page<User> findAllDisabled(Pageable pageable);
 
+    @Query("SELECT u.securityVersion FROM User u WHERE u.id = :id")
+    Optional<Long> findSecurityVersionById(@Param("id") UUID id);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /** Pagination par clé (createdAt, id) décroissante : ni OFFSET ni COUNT. */
+    @Query(value = "SELECT * FROM users ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<User> findKeysetFirst(@Param("limit") int limit);
+
+    @Query(value = """
+           SELECT * FROM users
+           WHERE (created_at, id) < (:createdAt, :id)
+           ORDER BY created_at DESC, id DESC
+           LIMIT :limit
+           """, nativeQuery = true)
+    List<User> findKeysetAfter(@Param("createdAt") Instant createdAt, @Param("id") UUID id, @Param("limit") int limit);
+
     @EntityGraph(attributePaths = "roles")
     @Query("select u from User u order by u.createdAt desc")
     List<User> findAllWithRoles();
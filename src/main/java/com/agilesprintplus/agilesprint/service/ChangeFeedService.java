@@ -0,0 +1,16 @@
+package com.agilesprintplus.agilesprint.service;
+
+import com.agilesprintplus.agilesprint.api.dto.ChangeDtos;
+import com.agilesprintplus.agilesprint.domain.ChangeEntity;
+import com.agilesprintplus.agilesprint.domain.ChangeOp;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface ChangeFeedService {
+
+    void record(ChangeEntity entity, UUID id, ChangeOp op);
+    void recordAll(ChangeEntity entity, Collection<UUID> ids, ChangeOp op);
+    ChangeDtos.Feed since(long since, int limit);
+    void compact();
+}
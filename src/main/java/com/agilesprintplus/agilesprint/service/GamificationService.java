@@ -1,16 +1,21 @@
 package com.agilesprintplus.agilesprint.service;
 
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.GamificationDtos;
 import com.agilesprintplus.agilesprint.service.gamification.GamificationLeaderboard;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface GamificationService {
 
     GamificationDtos.Response profile(UUID userId);
 
+    /** Version du profil, vide s'il n'a pas encore été créé. */
+    Optional<Long> profileVersion(UUID userId);
+
     GamificationDtos.Response gainXp(UUID userId, int delta);
 
     GamificationDtos.Response awardBadge(UUID userId, int count);
@@ -21,6 +26,8 @@ public interface GamificationService {
 
     Page<GamificationLeaderboard> leaderboard(String usernameFilter, Pageable pageable);
 
+    CursorDtos.Slice<GamificationLeaderboard> leaderboardByCursor(String usernameFilter, String cursor, int size);
+
     GamificationDtos.Response reset(UUID userId);
 
     long sumXp();
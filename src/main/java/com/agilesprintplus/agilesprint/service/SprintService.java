@@ -1,5 +1,6 @@
 package com.agilesprintplus.agilesprint.service;
 
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.SprintDtos;
 import com.agilesprintplus.agilesprint.service.metriques.SprintTaskStatusCount;
 import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityView;
@@ -10,15 +11,19 @@ import java.util.UUID;
 public interface SprintService {
     SprintDtos.Response create(SprintDtos.Create dto);
     SprintDtos.Response get(UUID id);
+    SprintDtos.Revision currentRevision(UUID id);
     SprintDtos.Response getByName(String name);
 
     Page<SprintDtos.Response> list(Pageable pageable);
-    SprintDtos.Response update(UUID id, SprintDtos.Update dto);
-    void delete(UUID id);
+    CursorDtos.Slice<SprintDtos.Response> listByCursor(String keyword, String cursor, int size);
+    SprintDtos.Response update(UUID id, SprintDtos.Update dto, Long expectedVersion);
+    void delete(UUID id, boolean detachTasks);
     Page<SprintDtos.Response> search(String keyword, Pageable pageable);
     List<SprintDtos.Response> listActive(LocalDate today);
     SprintDtos.Response getCurrent(LocalDate today);
     List<SprintDtos.Response> listOverlapping(LocalDate start, LocalDate end);
     List<SprintTaskStatusCount> countTasksByStatus(UUID sprintId);
     SprintVelocityView getVelocity(UUID sprintId);
+
+    SprintDtos.Burndown getBurndown(UUID sprintId);
 }
\ No newline at end of file
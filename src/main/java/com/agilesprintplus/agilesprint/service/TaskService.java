@@ -1,11 +1,15 @@
 package com.agilesprintplus.agilesprint.service;
 
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.TaskDtos;
 import com.agilesprintplus.agilesprint.domain.TaskStatus;
 import com.agilesprintplus.agilesprint.service.taskcount.SprintTaskCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -14,11 +18,18 @@ public interface TaskService {
 
     TaskDtos.Response create(TaskDtos.Create dto);
     TaskDtos.Response get(UUID id);
+    long currentVersion(UUID id);
     Page<TaskDtos.Response> list(Pageable pageable);
-    TaskDtos.Response update(UUID id, TaskDtos.Update dto);
+    CursorDtos.Slice<TaskDtos.Response> listByCursor(String cursor, int size);
+    TaskDtos.Response update(UUID id, TaskDtos.Update dto, Long expectedVersion);
     void delete(UUID id);
     List<TaskDtos.Response> searchTask(String keyword);
+    Page<TaskDtos.Response> searchTask(String keyword, Pageable pageable);
     TaskDtos.Response assignUsersToTask(UUID taskId, Set<UUID> userIds);
+    TaskDtos.BulkAssignmentResult assignUsersToTasks(TaskDtos.BulkAssignment dto);
     List<SprintTaskCount> getCountCompletedTasksBySprint();
     Long countByStatus(TaskStatus status);
+    long exportNdjson(OutputStream out) throws IOException;
+    TaskDtos.BulkImportResult importTasks(InputStream in, boolean csv) throws IOException;
+    TaskDtos.BulkStatusResult changeStatus(TaskDtos.BulkStatusChange dto);
 }
@@ -1,5 +1,6 @@
 package com.agilesprintplus.agilesprint.service;
 
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.UserDtos;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +30,14 @@ public interface UserService {
      */
     Page<UserDtos.Response> list(Pageable pageable);
 
+    /**
+     * 🔹 Liste par curseur (createdAt, id), sans requête de comptage.
+     * @param cursor curseur opaque renvoyé par la page précédente (vide pour la première page)
+     * @param size taille de page (bornée)
+     * @return une slice de DTOs utilisateurs
+     */
+    CursorDtos.Slice<UserDtos.Response> listByCursor(String cursor, int size);
+
     /**
      * 🔹 Met à jour partiellement les informations d’un utilisateur.
      * @param id identifiant de l’utilisateur
@@ -0,0 +1,8 @@
+package com.agilesprintplus.agilesprint.service.assignment;
+
+import java.util.UUID;
+
+public interface TaskAssigneeView {
+    UUID getTaskId();
+    UUID getUserId();
+}
@@ -0,0 +1,156 @@
+package com.agilesprintplus.agilesprint.service.bulk;
+
+import com.agilesprintplus.agilesprint.api.dto.TaskDtos;
+import com.agilesprintplus.agilesprint.exception.BadRequestException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Lecture en flux d'un import de tâches, une ligne à la fois, sans charger le corps en mémoire.
+ * Formats : tableau JSON d'objets {@link TaskDtos.Create}, ou CSV avec en-tête
+ * ({@code title,description,storyPoints,sprintId}, ordre libre).
+ * Une ligne illisible est renvoyée avec son erreur ; un corps mal formé interrompt l'import.
+ */
+public abstract class TaskImportReader implements Closeable {
+
+  public record Row(long number, TaskDtos.Create task, String error) {}
+
+  /** @return la ligne suivante, ou null en fin de flux */
+  public abstract Row next() throws IOException;
+
+  public static TaskImportReader json(InputStream in, ObjectMapper mapper) throws IOException {
+    return new Json(in, mapper);
+  }
+
+  public static TaskImportReader csv(InputStream in) throws IOException {
+    return new Csv(in);
+  }
+
+  private static final class Json extends TaskImportReader {
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private long row;
+
+    Json(InputStream in, ObjectMapper mapper) throws IOException {
+      this.mapper = mapper;
+      this.parser = mapper.getFactory().createParser(in);
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new BadRequestException("Expected a JSON array of tasks");
+      }
+    }
+
+    @Override
+    public Row next() throws IOException {
+      JsonToken token = parser.nextToken();
+      if (token == null || token == JsonToken.END_ARRAY) return null;
+      row++;
+      JsonNode node;
+      try {
+        node = mapper.readTree(parser);
+      } catch (IOException e) {
+        throw new BadRequestException("Malformed JSON at row " + row);
+      }
+      try {
+        return new Row(row, mapper.treeToValue(node, TaskDtos.Create.class), null);
+      } catch (IOException e) {
+        return new Row(row, null, "Invalid task: " + e.getOriginalMessage());
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      parser.close();
+    }
+  }
+
+  private static final class Csv extends TaskImportReader {
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private long row;
+
+    Csv(InputStream in) throws IOException {
+      this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+      List<String> header = readRecord();
+      if (header == null) throw new BadRequestException("CSV header is missing");
+      for (int i = 0; i < header.size(); i++) {
+        columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+      }
+      if (!columns.containsKey("title")) throw new BadRequestException("CSV header must contain a 'title' column");
+    }
+
+    @Override
+    public Row next() throws IOException {
+      List<String> fields = readRecord();
+      if (fields == null) return null;
+      row++;
+      try {
+        String storyPoints = field(fields, "storypoints");
+        String sprintId = field(fields, "sprintid");
+        return new Row(row, new TaskDtos.Create(
+                field(fields, "title"),
+                field(fields, "description"),
+                storyPoints == null ? null : Integer.valueOf(storyPoints.trim()),
+                sprintId == null ? null : UUID.fromString(sprintId.trim())), null);
+      } catch (IllegalArgumentException e) {
+        return new Row(row, null, "Invalid value: " + e.getMessage());
+      }
+    }
+
+    private String field(List<String> fields, String name) {
+      Integer i = columns.get(name);
+      if (i == null || i >= fields.size()) return null;
+      String v = fields.get(i);
+      return v.isEmpty() ? null : v;
+    }
+
+    /** RFC 4180 : champs entre guillemets, guillemets doublés, retours à la ligne dans un champ. */
+    private List<String> readRecord() throws IOException {
+      String line = reader.readLine();
+      while (line != null && line.isBlank()) line = reader.readLine();
+      if (line == null) return null;
+
+      List<String> fields = new ArrayList<>();
+      StringBuilder cur = new StringBuilder();
+      boolean quoted = false;
+      while (true) {
+        for (int i = 0; i < line.length(); i++) {
+          char c = line.charAt(i);
+          if (quoted) {
+            if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+              cur.append('"');
+              i++;
+            } else if (c == '"') {
+              quoted = false;
+            } else {
+              cur.append(c);
+            }
+          } else if (c == '"') {
+            quoted = true;
+          } else if (c == ',') {
+            fields.add(cur.toString());
+            cur.setLength(0);
+          } else {
+            cur.append(c);
+          }
+        }
+        if (!quoted) break;
+        line = reader.readLine();
+        if (line == null) throw new BadRequestException("Unterminated quoted field at row " + (row + 1));
+        cur.append('\n');
+      }
+      fields.add(cur.toString());
+      return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+}
@@ -0,0 +1,233 @@
+package com.agilesprintplus.agilesprint.service.calendar;
+
+import com.agilesprintplus.agilesprint.repo.SprintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Index en mémoire des intervalles [startDate, endDate] des sprints, pour les lectures
+ * ({@code listActive}, {@code getCurrent}, {@code listOverlapping}).
+ * <p>
+ * Les intervalles sont triés par date de début et vus comme un arbre binaire implicite, chaque nœud
+ * portant la plus grande date de fin de son sous-arbre : recherche de chevauchement en O(log n + k).
+ * L'instantané est immuable (copie à l'écriture) et lu sans verrou.
+ * <p>
+ * L'index n'est pas l'autorité pour les écritures : le contrôle de chevauchement est fait en base sous
+ * {@link #lockWrites()}, verrou consultatif commun à toutes les instances. Les écritures locales sont
+ * publiées après commit ; celles des autres instances sont reprises par le rechargement périodique
+ * ({@link #reload()}), qui borne la fraîcheur des lectures.
+ */
+@Component
+@Slf4j
+public class SprintIntervalIndex {
+
+  private static final long LOCK_KEY = 0x535052494E5444L; // "SPRINTD"
+
+  private record Interval(UUID id, long start, long end) {
+    boolean overlaps(long from, long to) {
+      return start <= to && end >= from;
+    }
+  }
+
+  private final SprintRepository sprintRepo;
+  private final JdbcTemplate jdbc;
+  private final ReentrantLock lock = new ReentrantLock();
+  /** Incrémenté à chaque publication locale : un rechargement concurrent est alors abandonné. */
+  private long writes;
+  private volatile Snapshot snapshot = Snapshot.of(List.of());
+  private volatile boolean ready;
+
+  public SprintIntervalIndex(SprintRepository sprintRepo, JdbcTemplate jdbc) {
+    this.sprintRepo = sprintRepo;
+    this.jdbc = jdbc;
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    reload();
+  }
+
+  /**
+   * Reconstruit l'instantané depuis la base. Si une écriture locale a été publiée pendant la lecture,
+   * l'instantané lu pourrait l'omettre : il est écarté et le prochain passage recommence.
+   */
+  @Scheduled(initialDelayString = "${application.sprints.calendar.reload-interval-ms:60000}",
+             fixedDelayString = "${application.sprints.calendar.reload-interval-ms:60000}")
+  public void reload() {
+    long seen;
+    lock.lock();
+    try {
+      seen = writes;
+    } finally {
+      lock.unlock();
+    }
+    List<Interval> all = new ArrayList<>();
+    for (SprintRangeView r : sprintRepo.findAllRanges()) {
+      if (r.getStartDate() == null || r.getEndDate() == null) continue;
+      all.add(new Interval(r.getId(), r.getStartDate().toEpochDay(), r.getEndDate().toEpochDay()));
+    }
+    lock.lock();
+    try {
+      if (writes != seen) {
+        log.debug("Sprint interval index reload skipped: concurrent local write");
+        return;
+      }
+      snapshot = Snapshot.of(all);
+      if (!ready) log.info("Sprint interval index loaded with {} sprint(s)", all.size());
+      ready = true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // --- Lecture ---
+
+  /** Sprints chevauchant [start, end], par date de début croissante. */
+  public List<UUID> overlapping(LocalDate start, LocalDate end) {
+    return snapshot.query(start.toEpochDay(), end.toEpochDay());
+  }
+
+  /** Sprints actifs à la date donnée, du plus récent au plus ancien (comme {@code findActive}). */
+  public List<UUID> activeOn(LocalDate day) {
+    List<UUID> ids = new ArrayList<>(snapshot.query(day.toEpochDay(), day.toEpochDay()));
+    Collections.reverse(ids);
+    return ids;
+  }
+
+  /** Sprint courant : parmi les sprints actifs, celui qui a commencé le plus tard. */
+  public Optional<UUID> currentOn(LocalDate day) {
+    List<UUID> ids = snapshot.query(day.toEpochDay(), day.toEpochDay());
+    return ids.isEmpty() ? Optional.empty() : Optional.of(ids.get(ids.size() - 1));
+  }
+
+  // --- Écriture ---
+
+  /**
+   * Sérialise, jusqu'à la fin de la transaction courante et sur toutes les instances, les écritures
+   * de dates de sprint : à prendre avant le contrôle de chevauchement en base.
+   */
+  public void lockWrites() {
+    jdbc.query("SELECT pg_advisory_xact_lock(?)", rs -> null, LOCK_KEY);
+  }
+
+  /** Publie l'intervalle du sprint (création ou nouvelles dates) après commit de la transaction courante. */
+  public void putAfterCommit(UUID sprintId, LocalDate start, LocalDate end) {
+    Interval iv = new Interval(sprintId, start.toEpochDay(), end.toEpochDay());
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      put(iv);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        put(iv);
+      }
+    });
+  }
+
+  private void put(Interval iv) {
+    lock.lock();
+    try {
+      snapshot = snapshot.with(iv);
+      writes++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public void removeAfterCommit(UUID sprintId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      remove(sprintId);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        remove(sprintId);
+      }
+    });
+  }
+
+  private void remove(UUID sprintId) {
+    lock.lock();
+    try {
+      snapshot = snapshot.without(sprintId);
+      writes++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Intervalles triés par début ; le nœud de [lo, hi] est au milieu et {@code maxEnd[mid]} couvre
+   * tout le sous-intervalle d'indices.
+   */
+  private static final class Snapshot {
+    private final Interval[] items;
+    private final long[] maxEnd;
+
+    private Snapshot(Interval[] items) {
+      this.items = items;
+      this.maxEnd = new long[items.length];
+      build(0, items.length - 1);
+    }
+
+    static Snapshot of(Collection<Interval> intervals) {
+      Interval[] sorted = intervals.toArray(new Interval[0]);
+      Arrays.sort(sorted, Comparator.comparingLong(Interval::start).thenComparing(Interval::id));
+      return new Snapshot(sorted);
+    }
+
+    Snapshot with(Interval iv) {
+      List<Interval> next = new ArrayList<>(items.length + 1);
+      for (Interval i : items) if (!i.id().equals(iv.id())) next.add(i);
+      next.add(iv);
+      return of(next);
+    }
+
+    Snapshot without(UUID id) {
+      List<Interval> next = new ArrayList<>(items.length);
+      for (Interval i : items) if (!i.id().equals(id)) next.add(i);
+      return next.size() == items.length ? this : of(next);
+    }
+
+    List<UUID> query(long from, long to) {
+      List<UUID> out = new ArrayList<>();
+      collect(0, items.length - 1, from, to, out);
+      return out;
+    }
+
+    private long build(int lo, int hi) {
+      if (lo > hi) return Long.MIN_VALUE;
+      int mid = (lo + hi) >>> 1;
+      long max = Math.max(items[mid].end(), Math.max(build(lo, mid - 1), build(mid + 1, hi)));
+      maxEnd[mid] = max;
+      return max;
+    }
+
+    /** Parcours infixe : les résultats sortent triés par date de début. */
+    private void collect(int lo, int hi, long from, long to, List<UUID> out) {
+      if (lo > hi) return;
+      int mid = (lo + hi) >>> 1;
+      if (maxEnd[mid] < from) return;
+      collect(lo, mid - 1, from, to, out);
+      if (items[mid].start() > to) return;
+      if (items[mid].overlaps(from, to)) out.add(items[mid].id());
+      collect(mid + 1, hi, from, to, out);
+    }
+  }
+}
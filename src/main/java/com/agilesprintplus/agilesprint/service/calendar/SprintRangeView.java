@@ -0,0 +1,10 @@
+package com.agilesprintplus.agilesprint.service.calendar;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface SprintRangeView {
+    UUID getId();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+}
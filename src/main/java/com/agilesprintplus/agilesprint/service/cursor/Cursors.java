@@ -0,0 +1,93 @@
+package com.agilesprintplus.agilesprint.service.cursor;
+
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
+import com.agilesprintplus.agilesprint.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Curseurs opaques pour la pagination par clé (keyset).
+ * Un curseur encode la clé de tri de la dernière ligne renvoyée : (createdAt, id) ou (score, id),
+ * en Base64 URL-safe. Un curseur vide ou absent désigne la première page.
+ */
+public final class Cursors {
+
+  public static final int DEFAULT_SIZE = 20;
+  public static final int MAX_SIZE = 200;
+
+  public record TimeKey(Instant createdAt, UUID id) {}
+  public record ScoreKey(long score, UUID id) {}
+
+  private Cursors() {}
+
+  public static int clampSize(int size) {
+    return Math.max(1, Math.min(size, MAX_SIZE));
+  }
+
+  public static boolean isFirstPage(String cursor) {
+    return cursor == null || cursor.isBlank();
+  }
+
+  public static String encode(Instant createdAt, UUID id) {
+    return encode("t:" + createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id);
+  }
+
+  public static String encode(long score, UUID id) {
+    return encode("s:" + score + ":" + id);
+  }
+
+  public static TimeKey decodeTime(String cursor) {
+    String[] parts = decode(cursor, "t", 4);
+    try {
+      return new TimeKey(Instant.ofEpochSecond(Long.parseLong(parts[1]), Long.parseLong(parts[2])),
+              UUID.fromString(parts[3]));
+    } catch (RuntimeException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+
+  public static ScoreKey decodeScore(String cursor) {
+    String[] parts = decode(cursor, "s", 3);
+    try {
+      return new ScoreKey(Long.parseLong(parts[1]), UUID.fromString(parts[2]));
+    } catch (RuntimeException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+
+  /**
+   * Construit la slice à partir de {@code size + 1} lignes lues : la ligne surnuméraire indique
+   * seulement qu'une page suivante existe.
+   */
+  public static <E, R> CursorDtos.Slice<R> slice(List<E> rows, int size,
+                                                 Function<E, String> cursorOf,
+                                                 Function<List<E>, List<R>> mapper) {
+    boolean hasNext = rows.size() > size;
+    List<E> page = hasNext ? rows.subList(0, size) : rows;
+    String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+    return new CursorDtos.Slice<>(mapper.apply(page), page.size(), hasNext, next);
+  }
+
+  private static String encode(String raw) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String[] decode(String cursor, String kind, int expectedParts) {
+    String raw;
+    try {
+      raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    String[] parts = raw.split(":");
+    if (parts.length != expectedParts || !kind.equals(parts[0])) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    return parts;
+  }
+}
@@ -0,0 +1,151 @@
+package com.agilesprintplus.agilesprint.service.impl;
+
+import com.agilesprintplus.agilesprint.api.dto.ChangeDtos;
+import com.agilesprintplus.agilesprint.domain.ChangeEntity;
+import com.agilesprintplus.agilesprint.domain.ChangeLogEntry;
+import com.agilesprintplus.agilesprint.domain.ChangeOp;
+import com.agilesprintplus.agilesprint.repo.ChangeLogRepository;
+import com.agilesprintplus.agilesprint.service.ChangeFeedService;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Journal des modifications de tâches et de sprints.
+ * <p>
+ * Les enregistrements sont regroupés par transaction et insérés juste avant le commit, sous un verrou
+ * consultatif transactionnel : les numéros de séquence sont donc attribués dans l'ordre des commits
+ * et un client qui reprend à {@code since} ne peut pas manquer une entrée validée plus tard avec un
+ * numéro inférieur. Le compactage retire les entrées remplacées puis celles au-delà de la rétention.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+
+  public static final int DEFAULT_LIMIT = 200;
+  public static final int MAX_LIMIT = 1000;
+  private static final long LOCK_KEY = 0x4348414E47454CL; // "CHANGEL"
+  private static final int INSERT_BATCH = 500;
+
+  private final ChangeLogRepository repo;
+  private final JdbcTemplate jdbc;
+  private final EntityManager em;
+
+  @Value("${application.changes.superseded-retention-ms:86400000}")
+  private long supersededRetentionMs;
+  @Value("${application.changes.retention-ms:2592000000}")
+  private long retentionMs;
+
+  @Override
+  public void record(ChangeEntity entity, UUID id, ChangeOp op) {
+    recordAll(entity, List.of(id), op);
+  }
+
+  @Override
+  public void recordAll(ChangeEntity entity, Collection<UUID> ids, ChangeOp op) {
+    if (ids.isEmpty()) return;
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      Pending pending = new Pending();
+      ids.forEach(id -> pending.put(entity, id, op));
+      write(pending);
+      return;
+    }
+    Pending pending = currentPending();
+    ids.forEach(id -> pending.put(entity, id, op));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public ChangeDtos.Feed since(long since, int limit) {
+    int n = Math.max(1, Math.min(limit, MAX_LIMIT));
+    Long min = repo.findMinSeq();
+    if (min != null && since < min - 1) {
+      Long max = repo.findMaxSeq();
+      return new ChangeDtos.Feed(List.of(), max, false, true);
+    }
+    List<ChangeLogEntry> rows = repo.findAfter(since, n + 1);
+    boolean hasMore = rows.size() > n;
+    List<ChangeDtos.Change> changes = rows.stream().limit(n)
+            .map(c -> new ChangeDtos.Change(c.getSeq(), c.getEntityType(), c.getEntityId(), c.getOp(), c.getChangedAt()))
+            .toList();
+    long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).seq();
+    return new ChangeDtos.Feed(changes, next, hasMore, false);
+  }
+
+  @Override
+  @Scheduled(initialDelayString = "${application.changes.compaction-interval-ms:3600000}",
+             fixedDelayString = "${application.changes.compaction-interval-ms:3600000}")
+  public void compact() {
+    Instant now = Instant.now();
+    int superseded = repo.deleteSuperseded(now.minus(Duration.ofMillis(supersededRetentionMs)));
+    int expired = repo.deleteExpired(now.minus(Duration.ofMillis(retentionMs)));
+    if (superseded + expired > 0) {
+      log.info("Change log compacted: {} superseded and {} expired entrie(s) removed", superseded, expired);
+    }
+  }
+
+  /** Tampon de la transaction courante, enregistré comme synchronisation à la première écriture. */
+  private Pending currentPending() {
+    for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+      if (s instanceof Flush f && f.owner() == this) return f.pending();
+    }
+    Flush flush = new Flush(this, new Pending());
+    TransactionSynchronizationManager.registerSynchronization(flush);
+    return flush.pending();
+  }
+
+  private void write(Pending pending) {
+    if (pending.entries.isEmpty()) return;
+    // Les verrous de ligne sont pris avant le verrou consultatif : une transaction qui le détient
+    // n'attend plus rien d'autre que son commit, ce qui exclut tout interblocage entre écrivains.
+    if (em.isJoinedToTransaction()) em.flush();
+    jdbc.query("SELECT pg_advisory_xact_lock(?)", rs -> null, LOCK_KEY);
+    Timestamp now = Timestamp.from(Instant.now());
+    jdbc.batchUpdate("INSERT INTO change_log (entity_type, entity_id, op, changed_at) VALUES (?, ?, ?, ?)",
+            new ArrayList<>(pending.entries.entrySet()), INSERT_BATCH, (ps, e) -> {
+              ps.setString(1, e.getKey().entity().name());
+              ps.setObject(2, e.getKey().id());
+              ps.setString(3, e.getValue().name());
+              ps.setTimestamp(4, now);
+            });
+  }
+
+  private record Key(ChangeEntity entity, UUID id) {}
+
+  /** Dernière opération par entité : une création suivie d'une suppression dans la même transaction donne DELETE. */
+  private static final class Pending {
+    private final Map<Key, ChangeOp> entries = new LinkedHashMap<>();
+
+    void put(ChangeEntity entity, UUID id, ChangeOp op) {
+      Key key = new Key(entity, id);
+      entries.remove(key);
+      entries.put(key, op);
+    }
+  }
+
+  /** Exécutée en dernier parmi les synchronisations, pour que le verrou soit tenu le moins longtemps possible. */
+  private record Flush(ChangeFeedServiceImpl owner, Pending pending) implements TransactionSynchronization {
+    @Override
+    public int getOrder() {
+      return LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      owner.write(pending);
+    }
+  }
+}
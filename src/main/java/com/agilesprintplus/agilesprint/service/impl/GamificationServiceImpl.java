@@ -1,5 +1,6 @@
 package com.agilesprintplus.agilesprint.service.impl;
 
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.GamificationDtos;
 import com.agilesprintplus.agilesprint.domain.GamificationProfile;
 import com.agilesprintplus.agilesprint.domain.User;
@@ -8,6 +9,7 @@ import com.agilesprintplus.agilesprint.exception.NotFoundException;
 import com.agilesprintplus.agilesprint.repo.GamificationProfileRepository;
 import com.agilesprintplus.agilesprint.repo.UserRepository;
 import com.agilesprintplus.agilesprint.service.GamificationService;
+import com.agilesprintplus.agilesprint.service.cursor.Cursors;
 import com.agilesprintplus.agilesprint.service.gamification.GamificationLeaderboard;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,6 +19,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -40,6 +44,11 @@ public class GamificationServiceImpl implements GamificationService {
     return toResponse(p);
   }
   @Override
+  @Transactional(readOnly = true)
+  public Optional<Long> profileVersion(UUID userId) {
+    return profileRepo.findVersionByUserId(userId);
+  }
+  @Override
   public GamificationDtos.Response gainXp(UUID userId, int delta) {
     ensureUserExists(userId);
     int updated = profileRepo.addXp(userId, delta);
@@ -99,6 +108,19 @@ public class GamificationServiceImpl implements GamificationService {
     return profileRepo.leaderboard(usernameFilter, pageable);
   }
   @Override
+  @Transactional(readOnly = true)
+  public CursorDtos.Slice<GamificationLeaderboard> leaderboardByCursor(String usernameFilter, String cursor, int size) {
+    int n = Cursors.clampSize(size);
+    List<GamificationLeaderboard> rows;
+    if (Cursors.isFirstPage(cursor)) {
+      rows = profileRepo.leaderboardKeysetFirst(usernameFilter, n + 1);
+    } else {
+      Cursors.ScoreKey key = Cursors.decodeScore(cursor);
+      rows = profileRepo.leaderboardKeysetAfter(usernameFilter, (int) key.score(), key.id(), n + 1);
+    }
+    return Cursors.slice(rows, n, r -> Cursors.encode(r.getXp(), r.getUserId()), page -> page);
+  }
+  @Override
   public GamificationDtos.Response reset(UUID userId) {
     ensureUserExists(userId);
     int updated = profileRepo.resetProfile(userId);
@@ -144,7 +166,8 @@ public class GamificationServiceImpl implements GamificationService {
             p.getXp(),
             p.getBadges(),
             p.getTasksDone(),
-            p.getSprintsCompleted()
+            p.getSprintsCompleted(),
+            p.getVersion()
     );
   }
 }
@@ -1,25 +1,42 @@
 package com.agilesprintplus.agilesprint.service.impl;
 
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.SprintDtos;
+import com.agilesprintplus.agilesprint.domain.ChangeEntity;
+import com.agilesprintplus.agilesprint.domain.ChangeOp;
 import com.agilesprintplus.agilesprint.domain.Sprint;
+import com.agilesprintplus.agilesprint.domain.SprintDailyProgress;
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
 import com.agilesprintplus.agilesprint.exception.BadRequestException;
 import com.agilesprintplus.agilesprint.exception.ConflictException;
 import com.agilesprintplus.agilesprint.exception.NotFoundException;
+import com.agilesprintplus.agilesprint.exception.PreconditionFailedException;
 import com.agilesprintplus.agilesprint.mapper.SprintMapper;
+import com.agilesprintplus.agilesprint.repo.SprintDailyProgressRepository;
 import com.agilesprintplus.agilesprint.repo.SprintRepository;
+import com.agilesprintplus.agilesprint.repo.SprintVelocityRepository;
 import com.agilesprintplus.agilesprint.repo.TaskRepository;
+import com.agilesprintplus.agilesprint.service.ChangeFeedService;
 import com.agilesprintplus.agilesprint.service.SprintService;
+import com.agilesprintplus.agilesprint.service.calendar.SprintIntervalIndex;
+import com.agilesprintplus.agilesprint.service.cursor.Cursors;
 import com.agilesprintplus.agilesprint.service.metriques.SprintTaskStatusCount;
+import com.agilesprintplus.agilesprint.service.metriques.SprintTaskStatusCountImpl;
+import com.agilesprintplus.agilesprint.service.metriques.SprintProgressLog;
+import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityAccumulator.Change;
+import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityAccumulator.Contribution;
 import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityView;
+import com.agilesprintplus.agilesprint.service.search.TaskSearchIndex;
+import com.agilesprintplus.agilesprint.service.taskcount.SprintTaskTotal;
+import com.agilesprintplus.agilesprint.service.taskcount.TaskStatusCounters;
+import com.agilesprintplus.agilesprint.service.transition.SprintTaskView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.temporal.ChronoUnit;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 
 
 @Service
@@ -30,6 +47,13 @@ public class SprintServiceImpl implements SprintService {
   private final SprintRepository repo;
   private final TaskRepository taskRepo;
   private final SprintMapper mapper;
+  private final TaskStatusCounters statusCounters;
+  private final ChangeFeedService changeFeed;
+  private final SprintIntervalIndex calendar;
+  private final SprintVelocityRepository velocityRepo;
+  private final SprintDailyProgressRepository progressRepo;
+  private final TaskSearchIndex searchIndex;
+  private final SprintProgressLog progress;
 
   @Override
   public SprintDtos.Response create(SprintDtos.Create dto) {
@@ -38,9 +62,13 @@ public class SprintServiceImpl implements SprintService {
     if (repo.existsByNameIgnoreCase(dto.name())) {
       throw new ConflictException("Sprint name already exists: " + dto.name());
     }
+    calendar.lockWrites();
     ensureNoOverlaps(dto.startDate(), dto.endDate(), null);
 
-    return toResponseWithCount(repo.save(mapper.toEntity(dto)));
+    Sprint saved = repo.save(mapper.toEntity(dto));
+    calendar.putAfterCommit(saved.getId(), dto.startDate(), dto.endDate());
+    changeFeed.record(ChangeEntity.SPRINT, saved.getId(), ChangeOp.UPSERT);
+    return toResponseWithCount(saved);
   }
   @Override
   @Transactional(readOnly = true)
@@ -50,6 +78,14 @@ public class SprintServiceImpl implements SprintService {
     return toResponseWithCount(s);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public SprintDtos.Revision currentRevision(UUID id) {
+    long version = repo.findVersionById(id)
+            .orElseThrow(() -> new NotFoundException("Sprint not found: " + id));
+    return new SprintDtos.Revision(version, taskRepo.countBySprint_Id(id));
+  }
+
   @Override
   @Transactional(readOnly = true)
   public SprintDtos.Response getByName(String name) {
@@ -62,14 +98,35 @@ public class SprintServiceImpl implements SprintService {
   @Override
   @Transactional(readOnly = true)
   public Page<SprintDtos.Response> list(Pageable pageable) {
-    return repo.findAll(pageable)
-            .map(this::toResponseWithCount);
+    Page<Sprint> page = repo.findAll(pageable);
+    Map<UUID, Long> counts = taskCountsOf(page.getContent());
+    return page.map(s -> toResponse(s, counts.getOrDefault(s.getId(), 0L)));
   }
 
   @Override
-  public SprintDtos.Response update(UUID id, SprintDtos.Update dto) {
+  @Transactional(readOnly = true)
+  public CursorDtos.Slice<SprintDtos.Response> listByCursor(String keyword, String cursor, int size) {
+    int n = Cursors.clampSize(size);
+    String kw = (keyword == null || keyword.isBlank()) ? null : keyword;
+    List<Sprint> rows;
+    if (Cursors.isFirstPage(cursor)) {
+      rows = repo.findKeysetFirst(kw, n + 1);
+    } else {
+      Cursors.TimeKey key = Cursors.decodeTime(cursor);
+      rows = repo.findKeysetAfter(kw, key.createdAt(), key.id(), n + 1);
+    }
+    return Cursors.slice(rows, n, s -> Cursors.encode(s.getCreatedAt(), s.getId()),
+            this::toResponses);
+  }
+
+  @Override
+  public SprintDtos.Response update(UUID id, SprintDtos.Update dto, Long expectedVersion) {
     Sprint s = repo.findById(id)
             .orElseThrow(() -> new NotFoundException("Sprint not found: " + id));
+    if (expectedVersion != null && s.getVersion() != expectedVersion) {
+      throw new PreconditionFailedException("Sprint " + id + " is at version " + s.getVersion()
+              + ", not " + expectedVersion);
+    }
     if (dto.name() != null) {
       String newName = dto.name();
       if (!newName.equalsIgnoreCase(s.getName()) && repo.existsByNameIgnoreCase(newName)) {
@@ -82,42 +139,90 @@ public class SprintServiceImpl implements SprintService {
     LocalDate start = s.getStartDate();
     LocalDate end = s.getEndDate();
     validateDates(start, end);
+    calendar.lockWrites();
     ensureNoOverlaps(start, end, s.getId());
+    calendar.putAfterCommit(s.getId(), start, end);
     s.setDurationDays(computeDurationDays(start, end));
+    changeFeed.record(ChangeEntity.SPRINT, s.getId(), ChangeOp.UPSERT);
 
-    return toResponseWithCount(s);
+    // Flush immédiat : la réponse (et son ETag) porte la version incrémentée
+    return toResponseWithCount(repo.saveAndFlush(s));
   }
+  /**
+   * Suppression ensembliste : aucune tâche n'est chargée. Après verrouillage du sprint, soit les assignations
+   * puis les tâches sont supprimées (une instruction chacune), soit les tâches sont rattachées au backlog,
+   * puis le sprint est supprimé par une requête JPQL qui contourne la cascade de {@code Sprint.tasks}.
+   */
   @Override
-  public void delete(UUID id) {
-    if (!repo.existsById(id)) {
+  public void delete(UUID id, boolean detachTasks) {
+    if (repo.lockById(id).isEmpty()) {
       throw new NotFoundException("Sprint not found: " + id);
     }
-    repo.deleteById(id);
+    List<SprintTaskView> rows = detachTasks ? taskRepo.detachFromSprint(id) : deleteTasksOf(id);
+    Map<TaskStatus, Integer> byStatus = new EnumMap<>(TaskStatus.class);
+    List<UUID> taskIds = new ArrayList<>(rows.size());
+    List<Change> changes = new ArrayList<>(rows.size());
+    for (SprintTaskView row : rows) {
+      TaskStatus status = row.getStatus() != null ? TaskStatus.valueOf(row.getStatus()) : null;
+      Contribution before = new Contribution(id, status, row.getStoryPoints());
+      Contribution after = detachTasks ? new Contribution(null, status, row.getStoryPoints()) : Contribution.NONE;
+      taskIds.add(row.getTaskId());
+      changes.add(new Change(row.getTaskId(), before, after));
+      if (status != null) byStatus.merge(status, 1, Integer::sum);
+    }
+    if (detachTasks) {
+      statusCounters.applyAfterCommit(byStatus.entrySet().stream()
+              .map(e -> new TaskStatusCounters.Delta(null, e.getKey(), e.getValue()))
+              .toList());
+      changeFeed.recordAll(ChangeEntity.TASK, taskIds, ChangeOp.UPSERT);
+    } else {
+      searchIndex.removeAfterCommit(taskIds);
+      changeFeed.recordAll(ChangeEntity.TASK, taskIds, ChangeOp.DELETE);
+    }
+    // Transitions journalisées ; les agrégats journaliers du sprint supprimé sont abandonnés
+    progress.recordAll(changes);
+    progress.dropSprint(id);
+    repo.deleteSprintById(id);
+    statusCounters.dropSprintAfterCommit(id);
+    calendar.removeAfterCommit(id);
+    velocityRepo.deleteBySprintId(id);
+    changeFeed.record(ChangeEntity.SPRINT, id, ChangeOp.DELETE);
+  }
+
+  private List<SprintTaskView> deleteTasksOf(UUID sprintId) {
+    taskRepo.deleteAssignmentsBySprintId(sprintId);
+    return taskRepo.deleteBySprintIdReturning(sprintId);
   }
   @Override
   @Transactional(readOnly = true)
   public Page<SprintDtos.Response> search(String keyword, Pageable pageable) {
-    return repo.search(keyword, pageable).map(this::toResponseWithCount);
+    Page<Sprint> page = repo.search(keyword, pageable);
+    Map<UUID, Long> counts = taskCountsOf(page.getContent());
+    return page.map(s -> toResponse(s, counts.getOrDefault(s.getId(), 0L)));
   }
   @Override
   @Transactional(readOnly = true)
   public List<SprintDtos.Response> listActive(LocalDate today) {
     LocalDate d = (today != null) ? today : LocalDate.now();
-    return repo.findActive(d).stream().map(this::toResponseWithCount).toList();
+    if (calendar.isReady()) return toResponses(loadInOrder(calendar.activeOn(d)));
+    return toResponses(repo.findActive(d));
   }
   @Override
   @Transactional(readOnly = true)
   public SprintDtos.Response getCurrent(LocalDate today) {
     LocalDate d = (today != null) ? today : LocalDate.now();
-    Sprint s = repo.findFirstByStartDateLessThanEqualAndEndDateGreaterThanEqualOrderByStartDateDesc(d, d)
-            .orElseThrow(() -> new NotFoundException("No current sprint for date: " + d));
+    Optional<Sprint> current = calendar.isReady()
+            ? calendar.currentOn(d).flatMap(repo::findById)
+            : repo.findFirstByStartDateLessThanEqualAndEndDateGreaterThanEqualOrderByStartDateDesc(d, d);
+    Sprint s = current.orElseThrow(() -> new NotFoundException("No current sprint for date: " + d));
     return toResponseWithCount(s);
   }
   @Override
   @Transactional(readOnly = true)
   public List<SprintDtos.Response> listOverlapping(LocalDate start, LocalDate end) {
     validateDates(start, end);
-    return repo.findOverlapping(start, end).stream().map(this::toResponseWithCount).toList();
+    if (calendar.isReady()) return toResponses(loadInOrder(calendar.overlapping(start, end)));
+    return toResponses(repo.findOverlapping(start, end));
   }
   @Override
   @Transactional(readOnly = true)
@@ -125,16 +230,62 @@ public class SprintServiceImpl implements SprintService {
     if (!repo.existsById(sprintId)) {
       throw new NotFoundException("Sprint not found: " + sprintId);
     }
+    if (statusCounters.isReady()) {
+      return statusCounters.forSprint(sprintId).entrySet().stream()
+              .<SprintTaskStatusCount>map(e -> new SprintTaskStatusCountImpl(e.getKey(), e.getValue()))
+              .toList();
+    }
     return repo.countTasksByStatus(sprintId);
   }
   @Override
   @Transactional(readOnly = true)
   public SprintVelocityView getVelocity(UUID sprintId) {
-    if (!repo.existsById(sprintId)) {
-      throw new NotFoundException("Sprint not found: " + sprintId);
+    return velocityRepo.findView(sprintId)
+            .orElseThrow(() -> new NotFoundException("Sprint not found: " + sprintId));
+  }
+
+  /**
+   * Séries burndown / burnup calculées par cumul des agrégats journaliers : les modifications antérieures
+   * au début du sprint forment le périmètre initial, puis un point par jour jusqu'à la fin du sprint
+   * (ou aujourd'hui), sans relire le journal des transitions.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public SprintDtos.Burndown getBurndown(UUID sprintId) {
+    Sprint sprint = repo.findById(sprintId)
+            .orElseThrow(() -> new NotFoundException("Sprint not found: " + sprintId));
+    LocalDate today = LocalDate.now();
+    LocalDate start = sprint.getStartDate() != null ? sprint.getStartDate() : today;
+    LocalDate end = sprint.getEndDate() != null && !sprint.getEndDate().isBefore(start) ? sprint.getEndDate() : start;
+    LocalDate last = today.isBefore(start) ? start : (today.isAfter(end) ? end : today);
+
+    List<SprintDailyProgress> rows =
+            progressRepo.findBySprintIdAndProgressDateLessThanEqualOrderByProgressDateAsc(sprintId, last);
+    long span = ChronoUnit.DAYS.between(start, end);
+    long scopeTasks = 0, scopePoints = 0, doneTasks = 0, donePoints = 0;
+    long initialScopePoints = 0;
+    List<SprintDtos.ProgressPoint> points = new ArrayList<>((int) ChronoUnit.DAYS.between(start, last) + 1);
+    int i = 0;
+    for (LocalDate day = start; !day.isAfter(last); day = day.plusDays(1)) {
+      long added = 0, removed = 0;
+      for (; i < rows.size() && !rows.get(i).getProgressDate().isAfter(day); i++) {
+        SprintDailyProgress r = rows.get(i);
+        scopeTasks += r.getScopeTasks();
+        scopePoints += r.getScopeStoryPoints();
+        doneTasks += r.getDoneTasks();
+        donePoints += r.getDoneStoryPoints();
+        if (r.getProgressDate().equals(day)) {
+          added += r.getAddedStoryPoints();
+          removed += r.getRemovedStoryPoints();
+        }
+      }
+      if (day.equals(start)) initialScopePoints = scopePoints;
+      long elapsed = ChronoUnit.DAYS.between(start, day);
+      double ideal = span == 0 ? 0 : initialScopePoints * (double) (span - elapsed) / span;
+      points.add(new SprintDtos.ProgressPoint(day, scopeTasks, scopePoints, doneTasks, donePoints,
+              scopeTasks - doneTasks, scopePoints - donePoints, added, removed, ideal));
     }
-    return repo.getVelocity(sprintId)
-            .orElseThrow(() -> new NotFoundException("No velocity data for sprint: " + sprintId));
+    return new SprintDtos.Burndown(sprintId, sprint.getStartDate(), sprint.getEndDate(), List.copyOf(points));
   }
   private void validateDates(LocalDate start, LocalDate end) {
     if (start == null || end == null) {
@@ -145,10 +296,7 @@ public class SprintServiceImpl implements SprintService {
     }
   }
   private void ensureNoOverlaps(LocalDate start, LocalDate end, UUID excludeId) {
-    var overlaps = repo.findOverlapping(start, end);
-    boolean hasOverlap = overlaps.stream()
-            .anyMatch(s -> excludeId == null || !Objects.equals(s.getId(), excludeId));
-    if (hasOverlap) {
+    if (repo.existsOverlapping(start, end, excludeId)) {
       throw new ConflictException("Sprint dates overlap with existing sprint(s)");
     }
   }
@@ -157,7 +305,34 @@ public class SprintServiceImpl implements SprintService {
     return (int) Math.max(days, 0);
   }
   private SprintDtos.Response toResponseWithCount(Sprint s) {
-    long count = taskRepo.countBySprint_Id(s.getId());
+    return toResponse(s, taskRepo.countBySprint_Id(s.getId()));
+  }
+
+  /** Listes : un seul COUNT groupé pour tous les sprints, au lieu d'un COUNT par sprint. */
+  private List<SprintDtos.Response> toResponses(List<Sprint> sprints) {
+    Map<UUID, Long> counts = taskCountsOf(sprints);
+    return sprints.stream().map(s -> toResponse(s, counts.getOrDefault(s.getId(), 0L))).toList();
+  }
+
+  /** Sprints désignés par l'index, chargés par clé primaire et remis dans l'ordre de l'index. */
+  private List<Sprint> loadInOrder(List<UUID> ids) {
+    if (ids.isEmpty()) return List.of();
+    Map<UUID, Sprint> byId = new HashMap<>();
+    repo.findAllById(ids).forEach(s -> byId.put(s.getId(), s));
+    return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+  }
+
+  private Map<UUID, Long> taskCountsOf(Collection<Sprint> sprints) {
+    if (sprints.isEmpty()) return Map.of();
+    List<UUID> ids = sprints.stream().map(Sprint::getId).toList();
+    Map<UUID, Long> counts = new HashMap<>();
+    for (SprintTaskTotal row : taskRepo.countBySprintIds(ids)) {
+      counts.put(row.getSprintId(), row.getTotal());
+    }
+    return counts;
+  }
+
+  private SprintDtos.Response toResponse(Sprint s, long count) {
     return new SprintDtos.Response(
             s.getId(),
             s.getName(),
@@ -165,7 +340,8 @@ public class SprintServiceImpl implements SprintService {
             s.getEndDate(),
             s.getDurationDays(),
             s.getGoal(),
-            count
+            count,
+            s.getVersion()
     );
     // Variante: on pourrait ajouter au mapper une méthode dédiée toResponse(Sprint, @Context long count)
     // mais créer directement le record ici est simple et évite toute charge LAZY.
@@ -1,24 +1,49 @@
 package com.agilesprintplus.agilesprint.service.impl;
 
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.TaskDtos;
+import com.agilesprintplus.agilesprint.domain.ChangeEntity;
+import com.agilesprintplus.agilesprint.domain.ChangeOp;
 import com.agilesprintplus.agilesprint.domain.Sprint;
 import com.agilesprintplus.agilesprint.domain.Task;
 import com.agilesprintplus.agilesprint.domain.TaskStatus;
 import com.agilesprintplus.agilesprint.domain.User;
 import com.agilesprintplus.agilesprint.exception.BadRequestException;
 import com.agilesprintplus.agilesprint.exception.NotFoundException;
+import com.agilesprintplus.agilesprint.exception.PreconditionFailedException;
 import com.agilesprintplus.agilesprint.repo.SprintRepository;
 import com.agilesprintplus.agilesprint.repo.TaskRepository;
 import com.agilesprintplus.agilesprint.repo.UserRepository;
+import com.agilesprintplus.agilesprint.service.ChangeFeedService;
 import com.agilesprintplus.agilesprint.service.TaskService;
+import com.agilesprintplus.agilesprint.service.assignment.TaskAssigneeView;
+import com.agilesprintplus.agilesprint.service.bulk.TaskImportReader;
+import com.agilesprintplus.agilesprint.service.cursor.Cursors;
+import com.agilesprintplus.agilesprint.service.metriques.SprintProgressLog;
+import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityAccumulator;
+import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityAccumulator.Change;
+import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityAccumulator.Contribution;
+import com.agilesprintplus.agilesprint.service.search.TaskSearchIndex;
+import com.agilesprintplus.agilesprint.service.taskcount.SprintStatusTotal;
 import com.agilesprintplus.agilesprint.service.taskcount.SprintTaskCount;
+import com.agilesprintplus.agilesprint.service.taskcount.TaskStatusCounters;
+import com.agilesprintplus.service.taskcount.SprintTaskCountImpl;
+import com.agilesprintplus.agilesprint.service.transition.TaskTransitionView;
 import com.agilesprintplus.notification.events.TaskAssignedEvent;
+import com.agilesprintplus.notification.events.TasksStatusChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.context.ApplicationEventPublisher;
 
 @Service
@@ -26,10 +51,26 @@ import org.springframework.context.ApplicationEventPublisher;
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+  private static final int ASSIGNEE_BATCH = 1000;
+  private static final int SEARCH_DEFAULT_SIZE = 50;
+  private static final int EXPORT_CHUNK = 500;
+  private static final int IMPORT_BATCH = 500;
+  private static final int IMPORT_MAX_REPORTED_ERRORS = 1000;
+  private static final int TEXT_MAX_LENGTH = 255;
+  private static final int BULK_MAX_IDS = 5000;
+  private static final int BULK_MAX_ASSIGNMENTS = 100_000;
+
   private final TaskRepository taskRepo;
   private final SprintRepository sprintRepo;
   private final UserRepository userRepo;
   private final ApplicationEventPublisher events;
+  private final TaskSearchIndex searchIndex;
+  private final TaskStatusCounters statusCounters;
+  private final ChangeFeedService changeFeed;
+  private final SprintVelocityAccumulator velocity;
+  private final SprintProgressLog progress;
+  private final EntityManager em;
+  private final ObjectMapper objectMapper;
 
   @Override
   public TaskDtos.Response create(TaskDtos.Create dto) {
@@ -47,7 +88,12 @@ public class TaskServiceImpl implements TaskService {
             .sprint(sprint)
             .build();
 
-    return toResponse(taskRepo.save(task));
+    Task saved = taskRepo.save(task);
+    searchIndex.indexAfterCommit(saved.getId(), saved.getTitle(), saved.getDescription());
+    statusCounters.applyAfterCommit(TaskStatusCounters.move(null, null, dto.sprintId(), saved.getStatus()));
+    changeFeed.record(ChangeEntity.TASK, saved.getId(), ChangeOp.UPSERT);
+    recordProgress(List.of(new Change(saved.getId(), Contribution.NONE, contributionOf(saved))));
+    return toResponse(saved);
   }
   @Override
   @Transactional(readOnly = true)
@@ -57,55 +103,286 @@ public class TaskServiceImpl implements TaskService {
     return toResponse(task);
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public long currentVersion(UUID id) {
+    return taskRepo.findVersionById(id)
+            .orElseThrow(() -> new NotFoundException("Task not found: " + id));
+  }
+
   @Override
   @Transactional(readOnly = true)
   public Page<TaskDtos.Response> list(Pageable pageable) {
-    return taskRepo.findAll(pageable).map(this::toResponse);
+    Page<Task> page = taskRepo.findAll(pageable);
+    Map<UUID, Set<UUID>> assignees = assigneesOf(page.getContent());
+    return page.map(t -> toResponse(t, assignees.getOrDefault(t.getId(), Set.of())));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorDtos.Slice<TaskDtos.Response> listByCursor(String cursor, int size) {
+    int n = Cursors.clampSize(size);
+    List<Task> rows;
+    if (Cursors.isFirstPage(cursor)) {
+      rows = taskRepo.findKeysetFirst(n + 1);
+    } else {
+      Cursors.TimeKey key = Cursors.decodeTime(cursor);
+      rows = taskRepo.findKeysetAfter(key.createdAt(), key.id(), n + 1);
+    }
+    return Cursors.slice(rows, n, t -> Cursors.encode(t.getCreatedAt(), t.getId()), page -> {
+      Map<UUID, Set<UUID>> assignees = assigneesOf(page);
+      return page.stream().map(t -> toResponse(t, assignees.getOrDefault(t.getId(), Set.of()))).toList();
+    });
   }
 
   @Override
-  public TaskDtos.Response update(UUID id, TaskDtos.Update dto) {
+  public TaskDtos.Response update(UUID id, TaskDtos.Update dto, Long expectedVersion) {
     Task task = taskRepo.findById(id)
             .orElseThrow(() -> new NotFoundException("Task not found: " + id));
+    if (expectedVersion != null && task.getVersion() != expectedVersion) {
+      throw new PreconditionFailedException("Task " + id + " is at version " + task.getVersion()
+              + ", not " + expectedVersion);
+    }
+    Contribution before = contributionOf(task);
+    UUID previousSprint = before.sprintId();
+    TaskStatus previousStatus = before.status();
 
     if (dto.title() != null)        task.setTitle(dto.title());
     if (dto.description() != null)  task.setDescription(dto.description());
     if (dto.status() != null)       task.setStatus(dto.status());
     if (dto.storyPoints() != null)  task.setStoryPoints(dto.storyPoints());
+    if (dto.title() != null || dto.description() != null) {
+      searchIndex.indexAfterCommit(task.getId(), task.getTitle(), task.getDescription());
+    }
 
     if (dto.sprintId() != null) {
       Sprint sprint = sprintRepo.findById(dto.sprintId())
               .orElseThrow(() -> new NotFoundException("Sprint not found: " + dto.sprintId()));
       task.setSprint(sprint);
     }
+    statusCounters.applyAfterCommit(TaskStatusCounters.move(previousSprint, previousStatus,
+            task.getSprint() != null ? task.getSprint().getId() : null, task.getStatus()));
+    changeFeed.record(ChangeEntity.TASK, task.getId(), ChangeOp.UPSERT);
+    recordProgress(List.of(new Change(task.getId(), before, contributionOf(task))));
 
-    return toResponse(task);
+    // Flush immédiat : la réponse (et son ETag) porte la version incrémentée
+    return toResponse(taskRepo.saveAndFlush(task));
   }
   @Override
   public void delete(UUID id) {
-    if (!taskRepo.existsById(id)) {
-      throw new NotFoundException("Task not found: " + id);
-    }
-    taskRepo.deleteById(id);
+    Task task = taskRepo.findById(id)
+            .orElseThrow(() -> new NotFoundException("Task not found: " + id));
+    UUID sprintId = task.getSprint() != null ? task.getSprint().getId() : null;
+    taskRepo.delete(task);
+    searchIndex.removeAfterCommit(List.of(id));
+    statusCounters.applyAfterCommit(TaskStatusCounters.move(sprintId, task.getStatus(), null, null));
+    changeFeed.record(ChangeEntity.TASK, id, ChangeOp.DELETE);
+    recordProgress(List.of(new Change(id, contributionOf(task), Contribution.NONE)));
   }
   @Override
   @Transactional(readOnly = true)
   public List<TaskDtos.Response> searchTask(String keyword) {
-    return taskRepo.search(keyword, null, null, Pageable.unpaged())
-            .map(this::toResponse)
-            .getContent();
+    return searchTask(keyword, PageRequest.of(0, SEARCH_DEFAULT_SIZE)).getContent();
+  }
 
+  /**
+   * Recherche plein texte bornée et paginée, servie par l'index en mémoire (termes préfixes, ET,
+   * classement par pertinence). Repli sur la requête SQL (sous-chaîne) tant que l'index n'est pas construit
+   * ou si le mot-clé ne contient aucun terme indexable (mots d'un seul caractère).
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public Page<TaskDtos.Response> searchTask(String keyword, Pageable pageable) {
+    if (!searchIndex.isReady() || !searchIndex.supports(keyword)) {
+      Page<Task> page = taskRepo.search(keyword, null, null, pageable);
+      Map<UUID, Set<UUID>> assignees = assigneesOf(page.getContent());
+      return page.map(t -> toResponse(t, assignees.getOrDefault(t.getId(), Set.of())));
+    }
+
+    TaskSearchIndex.Result result = searchIndex.search(keyword, (int) pageable.getOffset(), pageable.getPageSize());
+    List<UUID> ids = result.hits().stream().map(TaskSearchIndex.Hit::taskId).toList();
+    Map<UUID, Task> byId = new HashMap<>();
+    taskRepo.findAllById(ids).forEach(t -> byId.put(t.getId(), t));
+    List<Task> ranked = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    Map<UUID, Set<UUID>> assignees = assigneesOf(ranked);
+    List<TaskDtos.Response> content = ranked.stream()
+            .map(t -> toResponse(t, assignees.getOrDefault(t.getId(), Set.of())))
+            .toList();
+    return new PageImpl<>(content, pageable, result.total());
   }
   @Override
   @Transactional(readOnly = true)
   public List<SprintTaskCount> getCountCompletedTasksBySprint() {
+    if (statusCounters.isReady()) {
+      List<SprintTaskCount> out = new ArrayList<>();
+      statusCounters.bySprint(TaskStatus.DONE).forEach((sprintId, n) -> out.add(new SprintTaskCountImpl(sprintId, n)));
+      return out;
+    }
     return taskRepo.countTasksBySprintAndStatus(TaskStatus.DONE);
   }
   @Override
   @Transactional(readOnly = true)
   public Long countByStatus(TaskStatus status) {
+    if (statusCounters.isReady()) return statusCounters.total(status);
     return taskRepo.count((root, query, cb) -> cb.equal(root.get("status"), status));
   }
+  /**
+   * Écrit toutes les tâches en NDJSON (une ligne JSON par tâche) à mémoire constante : lecture en flux,
+   * assignés chargés par lot, contexte de persistance vidé après chaque lot.
+   * @return nombre de tâches écrites
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public long exportNdjson(OutputStream out) throws IOException {
+    long written = 0;
+    List<Task> chunk = new ArrayList<>(EXPORT_CHUNK);
+    try (Stream<Task> tasks = taskRepo.streamAll()) {
+      Iterator<Task> it = tasks.iterator();
+      while (it.hasNext()) {
+        chunk.add(it.next());
+        if (chunk.size() == EXPORT_CHUNK || !it.hasNext()) {
+          written += writeChunk(chunk, out);
+          chunk.clear();
+          em.clear();
+        }
+      }
+    }
+    out.flush();
+    return written;
+  }
+
+  private int writeChunk(List<Task> chunk, OutputStream out) throws IOException {
+    Map<UUID, Set<UUID>> assignees = assigneesOf(chunk);
+    for (Task t : chunk) {
+      out.write(objectMapper.writeValueAsBytes(toResponse(t, assignees.getOrDefault(t.getId(), Set.of()))));
+      out.write('\n');
+    }
+    out.flush();
+    return chunk.size();
+  }
+
+  /**
+   * Import en masse : lecture en flux, sprint vérifié une seule fois par identifiant distinct,
+   * insertions envoyées par lots JDBC (flush + clear tous les {@value #IMPORT_BATCH}).
+   * Les lignes invalides sont rejetées individuellement sans interrompre l'import.
+   */
+  @Override
+  public TaskDtos.BulkImportResult importTasks(InputStream in, boolean csv) throws IOException {
+    em.unwrap(Session.class).setJdbcBatchSize(IMPORT_BATCH);
+
+    Map<UUID, Boolean> sprintExists = new HashMap<>();
+    List<TaskDtos.BulkRowError> errors = new ArrayList<>();
+    List<TaskSearchIndex.Doc> indexed = new ArrayList<>();
+    List<TaskStatusCounters.Delta> counted = new ArrayList<>();
+    List<Change> progressChanges = new ArrayList<>();
+    long received = 0, failed = 0;
+    int pending = 0;
+
+    try (TaskImportReader reader = csv ? TaskImportReader.csv(in) : TaskImportReader.json(in, objectMapper)) {
+      TaskImportReader.Row row;
+      while ((row = reader.next()) != null) {
+        received++;
+        String error = row.error() != null ? row.error() : validateImportRow(row.task(), sprintExists);
+        if (error != null) {
+          failed++;
+          if (errors.size() < IMPORT_MAX_REPORTED_ERRORS) errors.add(new TaskDtos.BulkRowError(row.number(), error));
+          continue;
+        }
+
+        TaskDtos.Create dto = row.task();
+        Task task = Task.builder()
+                .title(dto.title().trim())
+                .description(dto.description())
+                .storyPoints(dto.storyPoints())
+                .status(TaskStatus.TODO)
+                .sprint(dto.sprintId() != null ? em.getReference(Sprint.class, dto.sprintId()) : null)
+                .enabled(true)
+                .build();
+        em.persist(task);
+        indexed.add(new TaskSearchIndex.Doc(task.getId(), task.getTitle(), task.getDescription()));
+        changeFeed.record(ChangeEntity.TASK, task.getId(), ChangeOp.UPSERT);
+        counted.add(new TaskStatusCounters.Delta(dto.sprintId(), TaskStatus.TODO, 1));
+        progressChanges.add(new Change(task.getId(), Contribution.NONE,
+                new Contribution(dto.sprintId(), TaskStatus.TODO, dto.storyPoints())));
+
+        if (++pending == IMPORT_BATCH) {
+          em.flush();
+          em.clear();
+          pending = 0;
+        }
+      }
+    }
+    em.flush();
+    em.clear();
+    searchIndex.indexAllAfterCommit(indexed);
+    statusCounters.applyAfterCommit(counted);
+    recordProgress(progressChanges);
+    return new TaskDtos.BulkImportResult(received, received - failed, failed, errors);
+  }
+
+  private String validateImportRow(TaskDtos.Create dto, Map<UUID, Boolean> sprintExists) {
+    if (dto.title() == null || dto.title().isBlank()) return "title is required";
+    if (dto.title().trim().length() > TEXT_MAX_LENGTH) return "title exceeds " + TEXT_MAX_LENGTH + " characters";
+    if (dto.description() != null && dto.description().length() > TEXT_MAX_LENGTH) {
+      return "description exceeds " + TEXT_MAX_LENGTH + " characters";
+    }
+    if (dto.storyPoints() != null && dto.storyPoints() < 0) return "storyPoints must be >= 0";
+    if (dto.sprintId() != null && !sprintExists.computeIfAbsent(dto.sprintId(), sprintRepo::existsById)) {
+      return "Sprint not found: " + dto.sprintId();
+    }
+    return null;
+  }
+
+  /**
+   * Transition de statut ensembliste : une instruction UPDATE ... RETURNING, sans chargement d'entités,
+   * puis un seul événement pour tout le lot et un comptage groupé des sprints concernés.
+   */
+  @Override
+  public TaskDtos.BulkStatusResult changeStatus(TaskDtos.BulkStatusChange dto) {
+    boolean byIds = dto.taskIds() != null && !dto.taskIds().isEmpty();
+    if (!byIds && dto.sprintId() == null) {
+      throw new BadRequestException("Provide taskIds or a sprintId filter");
+    }
+    if (byIds && dto.taskIds().size() > BULK_MAX_IDS) {
+      throw new BadRequestException("At most " + BULK_MAX_IDS + " taskIds per request");
+    }
+    String from = dto.fromStatus() != null ? dto.fromStatus().name() : null;
+    String target = dto.targetStatus().name();
+
+    List<TaskTransitionView> moved = byIds
+            ? taskRepo.transitionByIds(dto.taskIds(), from, target)
+            : taskRepo.transitionBySprint(dto.sprintId(), from, target);
+
+    List<UUID> taskIds = new ArrayList<>(moved.size());
+    Set<UUID> sprintIds = new LinkedHashSet<>();
+    List<TasksStatusChangedEvent.Transition> transitions = new ArrayList<>(moved.size());
+    List<TaskStatusCounters.Delta> counted = new ArrayList<>(moved.size() * 2);
+    List<Change> progressChanges = new ArrayList<>(moved.size());
+    for (TaskTransitionView row : moved) {
+      taskIds.add(row.getTaskId());
+      if (row.getSprintId() != null) sprintIds.add(row.getSprintId());
+      TaskStatus previous = row.getPreviousStatus() != null ? TaskStatus.valueOf(row.getPreviousStatus()) : null;
+      transitions.add(new TasksStatusChangedEvent.Transition(row.getTaskId(), row.getSprintId(), previous));
+      counted.addAll(TaskStatusCounters.move(row.getSprintId(), previous, row.getSprintId(), dto.targetStatus()));
+      progressChanges.add(new Change(row.getTaskId(),
+              new Contribution(row.getSprintId(), previous, row.getStoryPoints()),
+              new Contribution(row.getSprintId(), dto.targetStatus(), row.getStoryPoints())));
+    }
+    statusCounters.applyAfterCommit(counted);
+    recordProgress(progressChanges);
+    changeFeed.recordAll(ChangeEntity.TASK, taskIds, ChangeOp.UPSERT);
+    if (!byIds) sprintIds.add(dto.sprintId());
+    if (!transitions.isEmpty()) {
+      events.publishEvent(new TasksStatusChangedEvent(dto.targetStatus(), List.copyOf(transitions)));
+    }
+
+    List<TaskDtos.SprintStatusCount> counts = sprintIds.isEmpty() ? List.of()
+            : taskRepo.countByStatusForSprints(sprintIds).stream()
+                    .map(c -> new TaskDtos.SprintStatusCount(c.getSprintId(), c.getStatus(), c.getTotal()))
+                    .toList();
+    return new TaskDtos.BulkStatusResult(dto.targetStatus(), taskIds.size(), taskIds, counts);
+  }
+
   @Override
   public TaskDtos.Response assignUsersToTask(UUID taskId, Set<UUID> userIds) {
     Task task = taskRepo.findById(taskId)
@@ -127,15 +404,74 @@ public class TaskServiceImpl implements TaskService {
     }
 
     if (task.getUsers() == null) task.setUsers(new HashSet<>());
-    task.getUsers().addAll(users);
+    List<TaskAssignedEvent.Assignment> added = new ArrayList<>();
+    for (User u : users) {
+      if (task.getUsers().add(u)) added.add(new TaskAssignedEvent.Assignment(task.getId(), u.getId()));
+    }
 
-    task = taskRepo.save(task);
-    events.publishEvent(new TaskAssignedEvent(task, users));
+    task = taskRepo.saveAndFlush(task);
+    if (!added.isEmpty()) {
+      events.publishEvent(new TaskAssignedEvent(added));
+      changeFeed.record(ChangeEntity.TASK, task.getId(), ChangeOp.UPSERT);
+    }
 
     return toResponse(task);
   }
 
+  /**
+   * Assignation en masse : existence des tâches et des utilisateurs vérifiée par une requête chacun,
+   * puis un INSERT multi-lignes dans task_user qui ignore les doublons. Aucune entité n'est chargée ;
+   * un seul événement (identifiants uniquement) couvre les couples réellement créés.
+   */
+  @Override
+  public TaskDtos.BulkAssignmentResult assignUsersToTasks(TaskDtos.BulkAssignment dto) {
+    long pairs = (long) dto.taskIds().size() * dto.userIds().size();
+    if (dto.taskIds().size() > BULK_MAX_IDS || pairs > BULK_MAX_ASSIGNMENTS) {
+      throw new BadRequestException("At most " + BULK_MAX_IDS + " taskIds and "
+              + BULK_MAX_ASSIGNMENTS + " task/user pairs per request");
+    }
+    Set<UUID> missingTasks = new HashSet<>(dto.taskIds());
+    taskRepo.findExistingIds(dto.taskIds()).forEach(missingTasks::remove);
+    if (!missingTasks.isEmpty()) {
+      throw new NotFoundException("Some task IDs were not found: " + missingTasks);
+    }
+    Set<UUID> missingUsers = new HashSet<>(dto.userIds());
+    userRepo.findExistingIds(dto.userIds()).forEach(missingUsers::remove);
+    if (!missingUsers.isEmpty()) {
+      throw new BadRequestException("Some user IDs were not found: " + missingUsers);
+    }
+
+    List<TaskAssigneeView> inserted = taskRepo.insertAssignments(dto.taskIds(), dto.userIds());
+    if (!inserted.isEmpty()) {
+      events.publishEvent(new TaskAssignedEvent(inserted.stream()
+              .map(a -> new TaskAssignedEvent.Assignment(a.getTaskId(), a.getUserId()))
+              .toList()));
+      Set<UUID> touched = inserted.stream().map(TaskAssigneeView::getTaskId).collect(Collectors.toSet());
+      taskRepo.bumpVersions(touched);
+      changeFeed.recordAll(ChangeEntity.TASK, touched, ChangeOp.UPSERT);
+    }
+    return new TaskDtos.BulkAssignmentResult(dto.taskIds().size(), dto.userIds().size(),
+            inserted.size(), (int) pairs - inserted.size());
+  }
+
+  /** Vélocité et historique d'avancement (transitions + agrégats journaliers) du ou des sprints concernés. */
+  private void recordProgress(List<Change> changes) {
+    velocity.recordAll(changes);
+    progress.recordAll(changes);
+  }
+
+  private static Contribution contributionOf(Task task) {
+    return new Contribution(task.getSprint() != null ? task.getSprint().getId() : null,
+            task.getStatus(), task.getStoryPoints());
+  }
+
   private TaskDtos.Response toResponse(Task task) {
+    return toResponse(task, task.getUsers() == null ? Set.of()
+            : task.getUsers().stream().map(User::getId).collect(Collectors.toSet()));
+  }
+
+  /** Variante pour les listes : les assignés proviennent de {@link #assigneesOf(Collection)}. */
+  private TaskDtos.Response toResponse(Task task, Set<UUID> userIds) {
     return new TaskDtos.Response(
             task.getId(),
             task.getTitle(),
@@ -143,8 +479,23 @@ public class TaskServiceImpl implements TaskService {
             task.getStatus(),
             task.getStoryPoints(),
             task.getSprint() != null ? task.getSprint().getId() : null,
-            task.getUsers() == null ? Set.of()
-                    : task.getUsers().stream().map(User::getId).collect(Collectors.toSet())
+            userIds,
+            task.getVersion()
     );
   }
+
+  /** Une seule requête sur task_user pour toute la page, au lieu d'un chargement de collection par tâche. */
+  private Map<UUID, Set<UUID>> assigneesOf(Collection<Task> tasks) {
+    if (tasks.isEmpty()) return Map.of();
+    List<UUID> ids = tasks.stream().map(Task::getId).toList();
+    Map<UUID, Set<UUID>> byTask = new HashMap<>();
+    // Découpage pour rester sous la limite de paramètres liés (recherche non paginée)
+    for (int from = 0; from < ids.size(); from += ASSIGNEE_BATCH) {
+      List<UUID> chunk = ids.subList(from, Math.min(from + ASSIGNEE_BATCH, ids.size()));
+      for (TaskAssigneeView a : taskRepo.findAssigneesByTaskIds(chunk)) {
+        byTask.computeIfAbsent(a.getTaskId(), k -> new HashSet<>()).add(a.getUserId());
+      }
+    }
+    return byTask;
+  }
 }
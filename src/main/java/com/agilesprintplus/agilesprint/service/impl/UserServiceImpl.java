@@ -1,5 +1,6 @@
 package com.agilesprintplus.agilesprint.service.impl;
 
+import com.agilesprintplus.agilesprint.api.dto.CursorDtos;
 import com.agilesprintplus.agilesprint.api.dto.UserDtos;
 import com.agilesprintplus.agilesprint.domain.User;
 import com.agilesprintplus.agilesprint.exception.BadRequestException;
@@ -9,6 +10,8 @@ import com.agilesprintplus.agilesprint.mapper.UserMapper;
 import com.agilesprintplus.agilesprint.repo.TaskRepository;
 import com.agilesprintplus.agilesprint.repo.UserRepository;
 import com.agilesprintplus.agilesprint.service.UserService;
+import com.agilesprintplus.agilesprint.service.cursor.Cursors;
+import com.agilesprintplus.security.service.SecurityVersionCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +19,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
@@ -28,6 +32,7 @@ public class UserServiceImpl implements UserService {
     private final UserMapper mapper;
     private final PasswordEncoder encoder;
     private final TaskRepository taskRepo;
+    private final SecurityVersionCache securityVersions;
 
     @Override
     public UserDtos.Response create(UserDtos.Create dto) {
@@ -57,6 +62,21 @@ public class UserServiceImpl implements UserService {
         return repo.findAll(pageable).map(mapper::toResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorDtos.Slice<UserDtos.Response> listByCursor(String cursor, int size) {
+        int n = Cursors.clampSize(size);
+        List<User> rows;
+        if (Cursors.isFirstPage(cursor)) {
+            rows = repo.findKeysetFirst(n + 1);
+        } else {
+            Cursors.TimeKey key = Cursors.decodeTime(cursor);
+            rows = repo.findKeysetAfter(key.createdAt(), key.id(), n + 1);
+        }
+        return Cursors.slice(rows, n, u -> Cursors.encode(u.getCreatedAt(), u.getId()),
+                page -> page.stream().map(mapper::toResponse).toList());
+    }
+
     @Override
     public UserDtos.Response update(UUID id, UserDtos.Update dto) {
         User user = findOr404(id);
@@ -68,7 +88,12 @@ public class UserServiceImpl implements UserService {
             }
         }
 
+        String previousEmail = user.getEmail();
         mapper.updateEntity(user, dto,taskRepo);
+        // Les access tokens portent l'email (subject), les rôles et l'état d'activation
+        if (dto.roles() != null || dto.enabled() != null || !user.getEmail().equals(previousEmail)) {
+            securityVersions.bump(user);
+        }
         return mapper.toResponse(user);
     }
     @Override
@@ -77,6 +102,7 @@ public class UserServiceImpl implements UserService {
             throw new NotFoundException("User not found: " + id);
         }
         repo.deleteById(id);
+        securityVersions.evict(id);
     }
     @Override
     public void changePassword(UUID id, UserDtos.ChangePassword dto) {
@@ -85,11 +111,13 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Old password is incorrect");
         }
         user.setPasswordHash(encoder.encode(dto.newPassword()));
+        securityVersions.bump(user);
     }
     @Override
     public UserDtos.Response toggleActive(UUID id, boolean enabled) {
         User user = findOr404(id);
         user.setEnabled(enabled);
+        securityVersions.bump(user);
         return mapper.toResponse(user);
     }
     @Override
@@ -0,0 +1,46 @@
+package com.agilesprintplus.agilesprint.service.metriques;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Point de départ de {@code sprint_daily_progress} pour les sprints antérieurs à la table : une ligne
+ * portant l'état courant des tâches, datée du début du sprint (ou du jour s'il n'a pas encore commencé).
+ * L'historique antérieur n'existe pas ; les sprints qui ont déjà des agrégats ne sont pas touchés.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SprintProgressBackfill implements InitializingBean {
+
+  private final JdbcTemplate jdbc;
+
+  @Override
+  public void afterPropertiesSet() {
+    int inserted = jdbc.update("""
+        INSERT INTO sprint_daily_progress (sprint_id, progress_date, scope_tasks, scope_story_points,
+                                           done_tasks, done_story_points, added_story_points, removed_story_points)
+        SELECT s.id,
+               LEAST(s.start_date, CURRENT_DATE),
+               COUNT(t.id),
+               COALESCE(SUM(COALESCE(t.story_points, 0)), 0),
+               COUNT(t.id) FILTER (WHERE t.status = 'DONE'),
+               COALESCE(SUM(COALESCE(t.story_points, 0)) FILTER (WHERE t.status = 'DONE'), 0),
+               0,
+               0
+        FROM sprints s
+        JOIN tasks t ON t.sprint_id = s.id
+        WHERE NOT EXISTS (SELECT 1 FROM sprint_daily_progress p WHERE p.sprint_id = s.id)
+        GROUP BY s.id, s.start_date
+        ON CONFLICT (sprint_id, progress_date) DO NOTHING
+        """);
+    if (inserted > 0) {
+      log.info("Backfilled sprint progress baseline for {} sprint(s)", inserted);
+    }
+  }
+}
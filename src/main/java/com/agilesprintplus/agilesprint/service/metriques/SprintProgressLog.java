@@ -0,0 +1,153 @@
+package com.agilesprintplus.agilesprint.service.metriques;
+
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
+import com.agilesprintplus.agilesprint.repo.SprintDailyProgressRepository;
+import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityAccumulator.Change;
+import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityAccumulator.Contribution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Historique d'avancement des sprints : chaque changement de tâche est ajouté au journal
+ * {@code task_status_transitions} et répercuté sur l'agrégat du jour ({@code sprint_daily_progress})
+ * du ou des sprints concernés.
+ * <p>
+ * Comme pour {@link SprintVelocityAccumulator}, tout est cumulé pendant la transaction puis écrit juste
+ * avant le commit : les transitions en un INSERT par lot, les agrégats en un UPSERT additif par
+ * (sprint, jour), dans un ordre stable pour que deux transactions verrouillent les lignes dans le même ordre.
+ */
+@Component
+@RequiredArgsConstructor
+public class SprintProgressLog {
+
+  private static final int INSERT_BATCH = 500;
+
+  private final SprintDailyProgressRepository progressRepo;
+  private final JdbcTemplate jdbc;
+
+  public void recordAll(Collection<Change> changes) {
+    if (changes.isEmpty()) return;
+    Pending pending = currentPending();
+    Instant now = Instant.now();
+    LocalDate today = LocalDate.now();
+    for (Change c : changes) {
+      if (c.isNoop()) continue;
+      pending.transitions().add(new Transition(c, now));
+      apply(pending.days(), today, c);
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) flush(pending);
+  }
+
+  /**
+   * Le sprint est supprimé dans la transaction courante : ses agrégats journaliers sont effacés au commit
+   * et les deltas de la transaction qui le concernent abandonnés. Les transitions restent journalisées.
+   */
+  public void dropSprint(UUID sprintId) {
+    Pending pending = currentPending();
+    pending.dropped().add(sprintId);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) flush(pending);
+  }
+
+  /** Cellule [périmètre tâches, périmètre points, tâches terminées, points terminés, points ajoutés, points retirés]. */
+  private static void apply(Map<Day, long[]> days, LocalDate today, Change c) {
+    Contribution before = c.before(), after = c.after();
+    contribute(days, today, before, -1);
+    contribute(days, today, after, 1);
+    if (Objects.equals(before.sprintId(), after.sprintId())) {
+      if (after.sprintId() == null) return;
+      long net = points(after) - points(before);
+      long[] d = cell(days, after.sprintId(), today);
+      if (net > 0) d[4] += net; else d[5] -= net;
+    } else {
+      if (before.sprintId() != null) cell(days, before.sprintId(), today)[5] += points(before);
+      if (after.sprintId() != null) cell(days, after.sprintId(), today)[4] += points(after);
+    }
+  }
+
+  private static void contribute(Map<Day, long[]> days, LocalDate today, Contribution c, int sign) {
+    if (c.sprintId() == null) return;
+    long points = points(c);
+    boolean done = c.status() == TaskStatus.DONE;
+    long[] d = cell(days, c.sprintId(), today);
+    d[0] += sign;
+    d[1] += sign * points;
+    d[2] += sign * (done ? 1 : 0);
+    d[3] += sign * (done ? points : 0);
+  }
+
+  private static long[] cell(Map<Day, long[]> days, UUID sprintId, LocalDate day) {
+    return days.computeIfAbsent(new Day(sprintId, day), k -> new long[6]);
+  }
+
+  private static long points(Contribution c) {
+    return c.storyPoints() == null ? 0 : c.storyPoints();
+  }
+
+  private Pending currentPending() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return Pending.empty();
+    for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+      if (s instanceof Flush f && f.owner() == this) return f.pending();
+    }
+    Flush flush = new Flush(this, Pending.empty());
+    TransactionSynchronizationManager.registerSynchronization(flush);
+    return flush.pending();
+  }
+
+  private void flush(Pending pending) {
+    if (!pending.transitions().isEmpty()) {
+      jdbc.batchUpdate("""
+          INSERT INTO task_status_transitions (task_id, from_sprint_id, to_sprint_id, from_status, to_status,
+                                               from_story_points, to_story_points, occurred_at)
+          VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+          """, pending.transitions(), INSERT_BATCH, (ps, t) -> {
+        Contribution before = t.change().before(), after = t.change().after();
+        ps.setObject(1, t.change().taskId());
+        ps.setObject(2, before.sprintId());
+        ps.setObject(3, after.sprintId());
+        ps.setString(4, before.status() != null ? before.status().name() : null);
+        ps.setString(5, after.status() != null ? after.status().name() : null);
+        ps.setObject(6, before.storyPoints(), Types.INTEGER);
+        ps.setObject(7, after.storyPoints(), Types.INTEGER);
+        ps.setTimestamp(8, Timestamp.from(t.at()));
+      });
+    }
+    pending.days().forEach((day, d) -> {
+      if (pending.dropped().contains(day.sprintId()) || Arrays.stream(d).allMatch(v -> v == 0)) return;
+      progressRepo.addDelta(day.sprintId(), day.day(), d[0], d[1], d[2], d[3], d[4], d[5]);
+    });
+    pending.dropped().forEach(progressRepo::deleteBySprintId);
+  }
+
+  private record Day(UUID sprintId, LocalDate day) {}
+
+  private record Transition(Change change, Instant at) {}
+
+  private record Pending(List<Transition> transitions, Map<Day, long[]> days, Set<UUID> dropped) {
+    static Pending empty() {
+      return new Pending(new ArrayList<>(), new TreeMap<>(Comparator.comparing(Day::sprintId).thenComparing(Day::day)),
+              new TreeSet<>());
+    }
+  }
+
+  private record Flush(SprintProgressLog owner, Pending pending) implements TransactionSynchronization {
+    @Override
+    public int getOrder() {
+      return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      owner.flush(pending);
+    }
+  }
+}
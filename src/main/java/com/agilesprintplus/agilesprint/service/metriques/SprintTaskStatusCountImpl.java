@@ -0,0 +1,20 @@
+package com.agilesprintplus.agilesprint.service.metriques;
+
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
+
+/**
+ * Implémentation concrète de SprintTaskStatusCount, utilisée
+ * lorsque les comptes proviennent des compteurs en mémoire.
+ */
+public record SprintTaskStatusCountImpl(TaskStatus status, Long total) implements SprintTaskStatusCount {
+
+    @Override
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public Long getTotal() {
+        return total;
+    }
+}
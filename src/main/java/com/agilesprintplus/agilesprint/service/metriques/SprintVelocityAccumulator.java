@@ -0,0 +1,93 @@
+package com.agilesprintplus.agilesprint.service.metriques;
+
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
+import com.agilesprintplus.agilesprint.repo.SprintVelocityRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+
+/**
+ * Vélocité incrémentale : chaque écriture de tâche enregistre la différence entre sa contribution
+ * avant et après (tâches terminées / totales, points terminés / totaux) pour le ou les sprints concernés.
+ * <p>
+ * Les deltas sont cumulés par sprint pendant la transaction puis écrits juste avant le commit, un UPSERT
+ * additif par sprint, dans l'ordre des identifiants pour que deux transactions verrouillent les lignes
+ * dans le même ordre. Cette synchronisation passe avant celle du journal de modifications.
+ */
+@Component
+@RequiredArgsConstructor
+public class SprintVelocityAccumulator {
+
+  private final SprintVelocityRepository velocityRepo;
+
+  /** Contribution d'une tâche à la vélocité de son sprint. */
+  public record Contribution(UUID sprintId, TaskStatus status, Integer storyPoints) {
+    public static final Contribution NONE = new Contribution(null, null, null);
+  }
+
+  /** Changement de contribution d'une tâche (création : {@code before} = NONE, suppression : {@code after} = NONE). */
+  public record Change(UUID taskId, Contribution before, Contribution after) {
+    public boolean isNoop() {
+      return before.equals(after);
+    }
+  }
+
+  public void record(UUID taskId, Contribution before, Contribution after) {
+    recordAll(List.of(new Change(taskId, before, after)));
+  }
+
+  public void recordAll(Collection<Change> changes) {
+    if (changes.isEmpty()) return;
+    Map<UUID, long[]> deltas = currentDeltas();
+    for (Change c : changes) {
+      if (c.isNoop()) continue;
+      apply(deltas, c.before(), -1);
+      apply(deltas, c.after(), 1);
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) flush(deltas);
+  }
+
+  private static void apply(Map<UUID, long[]> deltas, Contribution c, int sign) {
+    if (c.sprintId() == null) return;
+    long points = c.storyPoints() == null ? 0 : c.storyPoints();
+    boolean done = c.status() == TaskStatus.DONE;
+    long[] d = deltas.computeIfAbsent(c.sprintId(), k -> new long[4]);
+    d[0] += sign * (done ? 1 : 0);
+    d[1] += sign;
+    d[2] += sign * (done ? points : 0);
+    d[3] += sign * points;
+  }
+
+  private Map<UUID, long[]> currentDeltas() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) return new HashMap<>();
+    for (TransactionSynchronization s : TransactionSynchronizationManager.getSynchronizations()) {
+      if (s instanceof Flush f && f.owner() == this) return f.deltas();
+    }
+    Flush flush = new Flush(this, new TreeMap<>());
+    TransactionSynchronizationManager.registerSynchronization(flush);
+    return flush.deltas();
+  }
+
+  private void flush(Map<UUID, long[]> deltas) {
+    deltas.forEach((sprintId, d) -> {
+      if (d[0] == 0 && d[1] == 0 && d[2] == 0 && d[3] == 0) return;
+      velocityRepo.addDelta(sprintId, d[0], d[1], d[2], d[3]);
+    });
+  }
+
+  private record Flush(SprintVelocityAccumulator owner, Map<UUID, long[]> deltas) implements TransactionSynchronization {
+    @Override
+    public int getOrder() {
+      return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      owner.flush(deltas);
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package com.agilesprintplus.agilesprint.service.metriques;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Initialise {@code sprint_velocity} pour les sprints qui n'ont pas encore de ligne (sprints antérieurs
+ * à la table). Exécutée après la mise à jour du schéma et avant de servir des requêtes ; les lignes
+ * existantes, tenues par deltas, ne sont pas touchées.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SprintVelocityBackfill implements InitializingBean {
+
+  private final JdbcTemplate jdbc;
+
+  @Override
+  public void afterPropertiesSet() {
+    int inserted = jdbc.update("""
+        INSERT INTO sprint_velocity (sprint_id, done_tasks, total_tasks, done_story_points, total_story_points)
+        SELECT s.id,
+               COUNT(t.id) FILTER (WHERE t.status = 'DONE'),
+               COUNT(t.id),
+               COALESCE(SUM(COALESCE(t.story_points, 0)) FILTER (WHERE t.status = 'DONE'), 0),
+               COALESCE(SUM(COALESCE(t.story_points, 0)), 0)
+        FROM sprints s
+        LEFT JOIN tasks t ON t.sprint_id = s.id
+        WHERE NOT EXISTS (SELECT 1 FROM sprint_velocity v WHERE v.sprint_id = s.id)
+        GROUP BY s.id
+        ON CONFLICT (sprint_id) DO NOTHING
+        """);
+    if (inserted > 0) {
+      log.info("Backfilled sprint velocity for {} sprint(s)", inserted);
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package com.agilesprintplus.agilesprint.service.search;
+
+import com.agilesprintplus.agilesprint.repo.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé en mémoire sur le titre et la description des tâches.
+ * <p>
+ * Les termes sont normalisés (minuscules, sans accents) ; chaque terme de la requête est traité
+ * comme un préfixe et tous doivent correspondre (ET). Le score cumule les poids des termes
+ * (titre > description, correspondance exacte > préfixe). L'index est chargé au démarrage puis
+ * maintenu après commit par {@code TaskServiceImpl} ; tant qu'il n'est pas prêt, ou si la requête
+ * ne contient aucun terme indexable ({@link #supports}), l'appelant se rabat sur la recherche SQL.
+ * <p>
+ * Les écritures faites sur d'autres instances ne passent pas par ici : l'index est donc reconstruit
+ * périodiquement ({@link #rebuild()}) dans des structures neuves, échangées en fin de passage. Les
+ * écritures locales survenues pendant la reconstruction sont rejouées sur le nouvel index.
+ */
+@Component
+@Slf4j
+public class TaskSearchIndex {
+
+  public record Hit(UUID taskId, int score) {}
+  public record Result(List<Hit> hits, int total) {}
+  public record Doc(UUID taskId, String title, String description) {}
+
+  private static final Pattern SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final int MIN_TERM_LENGTH = 2;
+  private static final int TITLE_WEIGHT = 3;
+  private static final int DESCRIPTION_WEIGHT = 1;
+  private static final int EXACT_BONUS = 2;
+  private static final int LOAD_BATCH = 5000;
+
+  private final TaskRepository taskRepo;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private NavigableMap<String, Map<UUID, Integer>> postings = new TreeMap<>();
+  private Map<UUID, Set<String>> termsByTask = new HashMap<>();
+  /** Écritures locales survenues pendant une reconstruction (document vide = suppression). */
+  private final Map<UUID, Optional<Doc>> replay = new HashMap<>();
+  private volatile boolean ready;
+  private boolean rebuilding;
+
+  public TaskSearchIndex(TaskRepository taskRepo) {
+    this.taskRepo = taskRepo;
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  /** Vrai si la requête contient au moins un terme indexable (sinon : recherche SQL). */
+  public boolean supports(String query) {
+    return !tokenize(query).isEmpty();
+  }
+
+  @Async
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    rebuild();
+  }
+
+  @Scheduled(initialDelayString = "${application.tasks.search.rebuild-interval-ms:600000}",
+             fixedDelayString = "${application.tasks.search.rebuild-interval-ms:600000}")
+  public synchronized void rebuild() {
+    withWriteLock(() -> {
+      rebuilding = true;
+      replay.clear();
+    });
+    long start = System.currentTimeMillis();
+    NavigableMap<String, Map<UUID, Integer>> nextPostings = new TreeMap<>();
+    Map<UUID, Set<String>> nextTerms = new HashMap<>();
+    int count = 0;
+    UUID after = null;
+    List<TaskTextView> batch;
+    try {
+      do {
+        batch = after == null
+                ? taskRepo.findTextFirst(LOAD_BATCH)
+                : taskRepo.findTextAfter(after, LOAD_BATCH);
+        for (TaskTextView t : batch) put(nextPostings, nextTerms, t.getId(), t.getTitle(), t.getDescription());
+        count += batch.size();
+        if (!batch.isEmpty()) after = batch.get(batch.size() - 1).getId();
+      } while (batch.size() == LOAD_BATCH);
+    } catch (RuntimeException e) {
+      withWriteLock(() -> {
+        rebuilding = false;
+        replay.clear();
+      });
+      throw e;
+    }
+
+    withWriteLock(() -> {
+      replay.forEach((id, doc) -> {
+        if (doc.isPresent()) put(nextPostings, nextTerms, id, doc.get().title(), doc.get().description());
+        else remove(nextPostings, nextTerms, id);
+      });
+      replay.clear();
+      postings = nextPostings;
+      termsByTask = nextTerms;
+      rebuilding = false;
+    });
+    if (!ready) {
+      log.info("Task search index built: {} task(s), {} term(s) in {} ms",
+              count, nextPostings.size(), System.currentTimeMillis() - start);
+    }
+    ready = true;
+  }
+
+  /** Indexe (ou ré-indexe) la tâche après commit de la transaction courante. */
+  public void indexAfterCommit(UUID taskId, String title, String description) {
+    afterCommit(() -> withWriteLock(() -> write(new Doc(taskId, title, description))));
+  }
+
+  /** Variante par lot (imports) : une seule synchronisation de transaction. */
+  public void indexAllAfterCommit(Collection<Doc> docs) {
+    if (docs.isEmpty()) return;
+    afterCommit(() -> withWriteLock(() -> docs.forEach(this::write)));
+  }
+
+  public void removeAfterCommit(Collection<UUID> taskIds) {
+    if (taskIds.isEmpty()) return;
+    List<UUID> ids = List.copyOf(taskIds);
+    afterCommit(() -> withWriteLock(() -> {
+      for (UUID id : ids) {
+        if (rebuilding) replay.put(id, Optional.empty());
+        remove(postings, termsByTask, id);
+      }
+    }));
+  }
+
+  /** À appeler sous verrou d'écriture. */
+  private void write(Doc d) {
+    if (rebuilding) replay.put(d.taskId(), Optional.of(d));
+    put(postings, termsByTask, d.taskId(), d.title(), d.description());
+  }
+
+  /**
+   * @param offset rang du premier résultat
+   * @param limit  nombre maximal de résultats renvoyés
+   */
+  public Result search(String query, int offset, int limit) {
+    List<String> terms = tokenize(query).stream().distinct().toList();
+    if (terms.isEmpty() || limit <= 0) return new Result(List.of(), 0);
+
+    Map<UUID, Integer> scores;
+    lock.readLock().lock();
+    try {
+      scores = matches(terms.get(0));
+      for (int i = 1; i < terms.size() && !scores.isEmpty(); i++) {
+        Map<UUID, Integer> next = matches(terms.get(i));
+        scores.keySet().retainAll(next.keySet());
+        scores.replaceAll((id, s) -> s + next.get(id));
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    // Tas borné aux offset + limit meilleurs : pas de tri complet des correspondances
+    Comparator<Hit> ranking = Comparator.comparingInt(Hit::score).reversed().thenComparing(Hit::taskId);
+    int keep = offset + limit;
+    PriorityQueue<Hit> top = new PriorityQueue<>(ranking.reversed());
+    for (Map.Entry<UUID, Integer> e : scores.entrySet()) {
+      top.add(new Hit(e.getKey(), e.getValue()));
+      if (top.size() > keep) top.poll();
+    }
+    List<Hit> ranked = new ArrayList<>(top);
+    ranked.sort(ranking);
+    List<Hit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+    return new Result(page, scores.size());
+  }
+
+  static List<String> tokenize(String text) {
+    if (text == null || text.isBlank()) return List.of();
+    String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+    List<String> out = new ArrayList<>();
+    for (String t : SPLIT.split(folded)) {
+      if (t.length() >= MIN_TERM_LENGTH) out.add(t);
+    }
+    return out;
+  }
+
+  /** Union des postings des termes commençant par {@code prefix} ; à appeler sous verrou de lecture. */
+  private Map<UUID, Integer> matches(String prefix) {
+    Map<UUID, Integer> out = new HashMap<>();
+    for (Map.Entry<String, Map<UUID, Integer>> e : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+      int bonus = e.getKey().equals(prefix) ? EXACT_BONUS : 1;
+      e.getValue().forEach((id, w) -> out.merge(id, w * bonus, Math::max));
+    }
+    return out;
+  }
+
+  private static void put(NavigableMap<String, Map<UUID, Integer>> postings, Map<UUID, Set<String>> termsByTask,
+                          UUID taskId, String title, String description) {
+    remove(postings, termsByTask, taskId);
+    Map<String, Integer> weights = new HashMap<>();
+    tokenize(title).forEach(t -> weights.merge(t, TITLE_WEIGHT, Integer::sum));
+    tokenize(description).forEach(t -> weights.merge(t, DESCRIPTION_WEIGHT, Integer::sum));
+    weights.forEach((term, w) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(taskId, w));
+    if (!weights.isEmpty()) termsByTask.put(taskId, weights.keySet());
+  }
+
+  private static void remove(NavigableMap<String, Map<UUID, Integer>> postings, Map<UUID, Set<String>> termsByTask,
+                             UUID taskId) {
+    Set<String> terms = termsByTask.remove(taskId);
+    if (terms == null) return;
+    for (String term : terms) {
+      Map<UUID, Integer> ids = postings.get(term);
+      if (ids != null) {
+        ids.remove(taskId);
+        if (ids.isEmpty()) postings.remove(term);
+      }
+    }
+  }
+
+  private void withWriteLock(Runnable r) {
+    lock.writeLock().lock();
+    try {
+      r.run();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static void afterCommit(Runnable r) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          r.run();
+        }
+      });
+    } else {
+      r.run();
+    }
+  }
+}
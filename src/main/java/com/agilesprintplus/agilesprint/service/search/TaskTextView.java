@@ -0,0 +1,9 @@
+package com.agilesprintplus.agilesprint.service.search;
+
+import java.util.UUID;
+
+public interface TaskTextView {
+    UUID getId();
+    String getTitle();
+    String getDescription();
+}
@@ -0,0 +1,11 @@
+package com.agilesprintplus.agilesprint.service.taskcount;
+
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
+
+import java.util.UUID;
+
+public interface SprintStatusTotal {
+    UUID getSprintId();
+    TaskStatus getStatus();
+    Long getTotal();
+}
@@ -0,0 +1,8 @@
+package com.agilesprintplus.agilesprint.service.taskcount;
+
+import java.util.UUID;
+
+public interface SprintTaskTotal {
+    UUID getSprintId();
+    Long getTotal();
+}
@@ -0,0 +1,236 @@
+package com.agilesprintplus.agilesprint.service.taskcount;
+
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
+import com.agilesprintplus.agilesprint.repo.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compteurs de tâches par (sprint, statut), tenus en mémoire sur des {@link LongAdder}.
+ * <p>
+ * Les chemins d'écriture de {@code TaskServiceImpl} enregistrent leurs deltas, appliqués après commit
+ * (rien n'est compté pour une transaction annulée). Une réconciliation périodique compare la table à un
+ * GROUP BY en base et corrige l'écart, mesuré dans {@code tasks.status.counters.drift} : elle n'est faite
+ * que si aucune transaction porteuse de deltas n'était en cours pendant la lecture, sinon elle est reportée.
+ * Tant que le premier chargement n'a pas abouti, {@link #isReady()} est faux et l'appelant interroge la base.
+ */
+@Component
+@Slf4j
+public class TaskStatusCounters {
+
+  /** Variation d'une cellule ; {@code sprintId} nul = tâches hors sprint. */
+  public record Delta(UUID sprintId, TaskStatus status, int amount) {}
+
+  private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+  private final TaskRepository taskRepo;
+  private final Map<Key, LongAdder> cells = new ConcurrentHashMap<>();
+  private final LongAdder[] totals = new LongAdder[STATUSES.length];
+  /** Transactions ayant enregistré des deltas et non encore terminées. */
+  private final AtomicInteger inFlight = new AtomicInteger();
+  /** Incrémenté à chaque enregistrement : une réconciliation ne corrige que si rien n'a bougé pendant sa lecture. */
+  private final AtomicLong epoch = new AtomicLong();
+  /** Lecture : application de deltas ; écriture : boucle de correction, exclusive des applications. */
+  private final ReentrantReadWriteLock correction = new ReentrantReadWriteLock();
+  private volatile boolean ready;
+
+  private final Counter driftCorrected;
+  private final DistributionSummary driftPerRun;
+  private final Counter reconcileClean;
+  private final Counter reconcileCorrected;
+  private final Counter reconcileSkipped;
+
+  public TaskStatusCounters(TaskRepository taskRepo, MeterRegistry registry) {
+    this.taskRepo = taskRepo;
+    for (int i = 0; i < totals.length; i++) totals[i] = new LongAdder();
+    this.driftCorrected = Counter.builder("tasks.status.counters.drift")
+            .description("Absolute difference between in-memory and database counts, summed over corrected cells")
+            .register(registry);
+    this.driftPerRun = DistributionSummary.builder("tasks.status.counters.drift.cells")
+            .description("Cells corrected per reconciliation run")
+            .register(registry);
+    this.reconcileClean = reconcileCounter(registry, "clean");
+    this.reconcileCorrected = reconcileCounter(registry, "corrected");
+    this.reconcileSkipped = reconcileCounter(registry, "skipped");
+    Gauge.builder("tasks.status.counters.cells", cells, Map::size)
+            .description("Number of (sprint, status) cells held in memory")
+            .register(registry);
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    reconcile();
+  }
+
+  // --- Lecture : O(1) par cellule ---
+
+  public long total(TaskStatus status) {
+    return totals[status.ordinal()].sum();
+  }
+
+  public long count(UUID sprintId, TaskStatus status) {
+    LongAdder cell = cells.get(new Key(sprintId, status));
+    return cell == null ? 0 : cell.sum();
+  }
+
+  /** Statuts non vides du sprint. */
+  public Map<TaskStatus, Long> forSprint(UUID sprintId) {
+    Map<TaskStatus, Long> out = new EnumMap<>(TaskStatus.class);
+    for (TaskStatus status : STATUSES) {
+      long n = count(sprintId, status);
+      if (n > 0) out.put(status, n);
+    }
+    return out;
+  }
+
+  /** Nombre de tâches au statut donné, par sprint (clé nulle = hors sprint). */
+  public Map<UUID, Long> bySprint(TaskStatus status) {
+    Map<UUID, Long> out = new HashMap<>();
+    cells.forEach((key, cell) -> {
+      if (key.status() != status) return;
+      long n = cell.sum();
+      if (n > 0) out.put(key.sprintId(), n);
+    });
+    return out;
+  }
+
+  // --- Écriture : deltas appliqués après commit ---
+
+  public void applyAfterCommit(Collection<Delta> deltas) {
+    if (deltas.isEmpty()) return;
+    List<Delta> pending = List.copyOf(deltas);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply(pending);
+      return;
+    }
+    inFlight.incrementAndGet();
+    epoch.incrementAndGet();
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        apply(pending);
+      }
+
+      @Override
+      public void afterCompletion(int status) {
+        inFlight.decrementAndGet();
+      }
+    });
+  }
+
+  /** Transition d'une tâche : retrait de l'ancienne cellule, ajout dans la nouvelle (les deux peuvent être nulles). */
+  public static List<Delta> move(UUID fromSprint, TaskStatus fromStatus, UUID toSprint, TaskStatus toStatus) {
+    if (Objects.equals(fromSprint, toSprint) && fromStatus == toStatus) return List.of();
+    List<Delta> out = new ArrayList<>(2);
+    if (fromStatus != null) out.add(new Delta(fromSprint, fromStatus, -1));
+    if (toStatus != null) out.add(new Delta(toSprint, toStatus, 1));
+    return out;
+  }
+
+  /** Le sprint et ses tâches (cascade) ont été supprimés. */
+  public void dropSprintAfterCommit(UUID sprintId) {
+    List<Delta> deltas = new ArrayList<>();
+    for (TaskStatus status : STATUSES) {
+      long n = count(sprintId, status);
+      if (n != 0) deltas.add(new Delta(sprintId, status, (int) -n));
+    }
+    applyAfterCommit(deltas);
+  }
+
+  private void apply(List<Delta> deltas) {
+    correction.readLock().lock();
+    try {
+      for (Delta d : deltas) {
+        if (d.status() == null || d.amount() == 0) continue;
+        cells.computeIfAbsent(new Key(d.sprintId(), d.status()), k -> new LongAdder()).add(d.amount());
+        totals[d.status().ordinal()].add(d.amount());
+      }
+    } finally {
+      correction.readLock().unlock();
+    }
+  }
+
+  // --- Réconciliation ---
+
+  @Scheduled(initialDelayString = "${application.tasks.counters.reconcile-interval-ms:300000}",
+             fixedDelayString = "${application.tasks.counters.reconcile-interval-ms:300000}")
+  public synchronized void reconcile() {
+    long start = epoch.get();
+    if (inFlight.get() > 0) {
+      reconcileSkipped.increment();
+      return;
+    }
+    Map<Key, Long> actual = new HashMap<>();
+    for (SprintStatusTotal row : taskRepo.countGroupedBySprintAndStatus()) {
+      if (row.getStatus() != null) actual.put(new Key(row.getSprintId(), row.getStatus()), row.getTotal());
+    }
+
+    // Vérification et correction sous verrou exclusif : aucun delta ne peut être appliqué entre les deux.
+    // Une transaction enregistrée après la vérification a commité après la lecture ; son delta,
+    // absent de la lecture, est appliqué après la correction.
+    int corrected = 0;
+    correction.writeLock().lock();
+    try {
+      if (epoch.get() != start || inFlight.get() > 0) {
+        reconcileSkipped.increment();
+        return;
+      }
+      Set<Key> keys = new HashSet<>(cells.keySet());
+      keys.addAll(actual.keySet());
+      for (Key key : keys) {
+        LongAdder cell = cells.computeIfAbsent(key, k -> new LongAdder());
+        long diff = actual.getOrDefault(key, 0L) - cell.sum();
+        if (diff != 0) {
+          cell.add(diff);
+          totals[key.status().ordinal()].add(diff);
+          if (ready) driftCorrected.increment(Math.abs(diff));
+          corrected++;
+        }
+      }
+    } finally {
+      correction.writeLock().unlock();
+    }
+
+    if (!ready) {
+      ready = true;
+      log.info("Task status counters loaded: {} cell(s)", cells.size());
+      return;
+    }
+    driftPerRun.record(corrected);
+    if (corrected > 0) {
+      reconcileCorrected.increment();
+      log.warn("Task status counters drifted: {} cell(s) corrected", corrected);
+    } else {
+      reconcileClean.increment();
+    }
+  }
+
+  private static Counter reconcileCounter(MeterRegistry registry, String result) {
+    return Counter.builder("tasks.status.counters.reconcile")
+            .description("Reconciliation runs by outcome; skipped when a counted transaction was in flight")
+            .tag("result", result)
+            .register(registry);
+  }
+
+  private record Key(UUID sprintId, TaskStatus status) {}
+}
@@ -0,0 +1,10 @@
+package com.agilesprintplus.agilesprint.service.transition;
+
+import java.util.UUID;
+
+/** Ligne renvoyée (RETURNING) quand les tâches d'un sprint sont supprimées ou détachées en masse : état avant. */
+public interface SprintTaskView {
+    UUID getTaskId();
+    String getStatus();
+    Integer getStoryPoints();
+}
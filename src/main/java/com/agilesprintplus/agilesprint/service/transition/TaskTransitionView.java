@@ -0,0 +1,11 @@
+package com.agilesprintplus.agilesprint.service.transition;
+
+import java.util.UUID;
+
+/** Ligne renvoyée (RETURNING) par une transition de statut en masse : état avant la mise à jour. */
+public interface TaskTransitionView {
+    UUID getTaskId();
+    UUID getSprintId();
+    String getPreviousStatus();
+    Integer getStoryPoints();
+}
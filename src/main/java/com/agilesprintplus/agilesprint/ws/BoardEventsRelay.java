@@ -0,0 +1,36 @@
+package com.agilesprintplus.agilesprint.ws;
+
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
+import com.agilesprintplus.notification.events.TasksStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Relaie les changements de tableau vers {@code /topic/tasks} après commit :
+ * un message par lot, quel que soit le nombre de cartes déplacées.
+ */
+@Component
+@RequiredArgsConstructor
+public class BoardEventsRelay {
+
+    public static final String TASKS_TOPIC = "/topic/tasks";
+
+    private final SimpMessagingTemplate broker;
+
+    @TransactionalEventListener
+    public void onStatusChanged(TasksStatusChangedEvent evt) {
+        List<UUID> taskIds = new ArrayList<>(evt.transitions().size());
+        Set<UUID> sprintIds = new LinkedHashSet<>();
+        for (TasksStatusChangedEvent.Transition t : evt.transitions()) {
+            taskIds.add(t.taskId());
+            if (t.sprintId() != null) sprintIds.add(t.sprintId());
+        }
+        broker.convertAndSend(TASKS_TOPIC, new TasksMoved("tasks.status", evt.targetStatus(), taskIds, sprintIds));
+    }
+
+    public record TasksMoved(String type, TaskStatus status, List<UUID> taskIds, Set<UUID> sprintIds) {}
+}
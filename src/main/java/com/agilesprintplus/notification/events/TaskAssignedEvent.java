@@ -1,10 +1,13 @@
 package com.agilesprintplus.notification.events;
 
+import java.util.List;
+import java.util.UUID;
 
+/**
+ * Assignations créées dans une transaction, publiées une fois par lot.
+ * Ne porte que des identifiants : le listener recharge ce dont il a besoin après commit.
+ */
+public record TaskAssignedEvent(List<Assignment> assignments) {
 
-import com.agilesprintplus.agilesprint.domain.Task;
-import com.agilesprintplus.agilesprint.domain.User;
-
-import java.util.Set;
-
-public record TaskAssignedEvent(Task task, Set<User> assignees) {}
\ No newline at end of file
+    public record Assignment(UUID taskId, UUID userId) {}
+}
@@ -0,0 +1,12 @@
+package com.agilesprintplus.notification.events;
+
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/** Publié une seule fois par transition en masse, avec le statut précédent de chaque tâche déplacée. */
+public record TasksStatusChangedEvent(TaskStatus targetStatus, List<Transition> transitions) {
+
+    public record Transition(UUID taskId, UUID sprintId, TaskStatus previousStatus) {}
+}
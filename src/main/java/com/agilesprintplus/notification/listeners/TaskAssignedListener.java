@@ -1,13 +1,21 @@
 package com.agilesprintplus.notification.listeners;
 
+import com.agilesprintplus.agilesprint.domain.Task;
+import com.agilesprintplus.agilesprint.domain.User;
+import com.agilesprintplus.agilesprint.repo.TaskRepository;
+import com.agilesprintplus.agilesprint.repo.UserRepository;
 import com.agilesprintplus.notification.EmailService;
 import com.agilesprintplus.notification.TaskMailBuilder;
 import com.agilesprintplus.notification.events.TaskAssignedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Component
@@ -16,12 +24,28 @@ public class TaskAssignedListener {
 
     private final EmailService emailService;
     private final TaskMailBuilder mailBuilder;
+    private final TaskRepository taskRepo;
+    private final UserRepository userRepo;
 
+    /** Après commit : tâches (avec sprint) et utilisateurs du lot rechargés en deux requêtes. */
     @Async
-    @EventListener
+    @TransactionalEventListener
     public void onTaskAssigned(TaskAssignedEvent evt) {
-        var task = evt.task();
-        evt.assignees().forEach(u -> {
+        Set<UUID> taskIds = new HashSet<>();
+        Set<UUID> userIds = new HashSet<>();
+        evt.assignments().forEach(a -> {
+            taskIds.add(a.taskId());
+            userIds.add(a.userId());
+        });
+        Map<UUID, Task> tasks = taskRepo.findWithSprintByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<UUID, User> users = userRepo.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        evt.assignments().forEach(a -> {
+            Task task = tasks.get(a.taskId());
+            User u = users.get(a.userId());
+            if (task == null || u == null) return;
             if (u.getEmail() == null || u.getEmail().isBlank()) {
                 log.warn("Skip email: user {} has no email", u.getId());
                 return;
@@ -33,7 +57,7 @@ public class TaskAssignedListener {
         });
     }
 
-    private String displayName(com.agilesprintplus.agilesprint.domain.User u) {
+    private String displayName(User u) {
         if (u.getFirstName() != null || u.getLastName() != null) {
             return ((u.getFirstName() == null ? "" : u.getFirstName()) + " " +
                     (u.getLastName() == null ? "" : u.getLastName())).trim();
@@ -2,6 +2,8 @@ package com.agilesprintplus.security.config;
 
 import com.agilesprintplus.agilesprint.repo.UserRepository;
 import com.agilesprintplus.security.entity.UserPrincipal;
+import com.agilesprintplus.security.service.LoginLookupCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,29 +11,45 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.*;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
   private final UserRepository userRepository;
+  private final PasswordHashingProps passwordHashingProps;
+  private final MeterRegistry meterRegistry;
+  private final LoginLookupCache loginLookup;
 
   @Bean
   public UserDetailsService userDetailsService() {
-    return login -> userRepository.findByEmailIgnoreCase(login)
-            .or(() -> userRepository.findByUsernameIgnoreCase(login))
+    return login -> loginLookup.findByLogin(login)
             .map(UserPrincipal::new)
             .orElseThrow(() -> new UsernameNotFoundException("User not found"));
   }
 
-  @Bean public PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(); }
+  @Bean public PasswordEncoder passwordEncoder() { return new BoundedPasswordEncoder(passwordHashingProps, meterRegistry); }
+
+  /** Ré-encode au login les hashs produits avec un coût BCrypt inférieur au coût configuré. */
+  @Bean
+  public UserDetailsPasswordService userDetailsPasswordService() {
+    return (details, newHash) -> {
+      var user = ((UserPrincipal) details).getDomainUser();
+      return userRepository.findById(user.getId())
+              .map(u -> {
+                u.setPasswordHash(newHash);
+                return new UserPrincipal(userRepository.save(u));
+              })
+              .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    };
+  }
 
   @Bean
   public DaoAuthenticationProvider authenticationProvider() {
     var p = new DaoAuthenticationProvider();
     p.setUserDetailsService(userDetailsService());
     p.setPasswordEncoder(passwordEncoder());
+    p.setUserDetailsPasswordService(userDetailsPasswordService());
     return p;
   }
 
@@ -0,0 +1,116 @@
+package com.agilesprintplus.security.config;
+
+import com.agilesprintplus.agilesprint.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PasswordEncoder} BCrypt exécuté sur un pool dédié et borné.
+ * <p>
+ * Les threads Tomcat attendent le résultat mais le nombre de hachages simultanés est plafonné :
+ * une rafale de logins ne monopolise plus le CPU des autres endpoints. Quand la file est pleine,
+ * la requête est rejetée immédiatement ({@link ServiceUnavailableException} → 503).
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+  private final BCryptPasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMs;
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejected;
+
+  public BoundedPasswordEncoder(PasswordHashingProps props, MeterRegistry registry) {
+    this.delegate = new BCryptPasswordEncoder(props.getBcryptStrength());
+    this.timeoutMs = props.getTimeoutMs();
+    this.executor = new ThreadPoolExecutor(
+            props.getPoolSize(), props.getPoolSize(),
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(props.getQueueCapacity()),
+            namedDaemonThreads(),
+            new ThreadPoolExecutor.AbortPolicy());
+
+    this.encodeTimer = hashTimer(registry, "encode");
+    this.matchesTimer = hashTimer(registry, "matches");
+    this.rejected = Counter.builder("auth.password.hash.rejected")
+            .description("Hashing requests rejected because the queue was full or the wait timed out")
+            .register(registry);
+    Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+            .description("Hashing requests waiting for a worker")
+            .register(registry);
+    log.info("Password hashing: BCrypt strength {}, {} worker(s), queue {}",
+            props.getBcryptStrength(), props.getPoolSize(), props.getQueueCapacity());
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return submit(() -> encodeTimer.record(() -> delegate.encode(rawPassword)));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return submit(() -> matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword)));
+  }
+
+  /** Vrai si le hash a été produit avec un coût inférieur au coût configuré (rehash au login). */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+  }
+
+  private <T> T submit(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new ServiceUnavailableException("Authentication service is busy, please retry");
+    }
+    try {
+      return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(true);
+      rejected.increment();
+      throw new ServiceUnavailableException("Authentication service is busy, please retry");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new ServiceUnavailableException("Password hashing interrupted");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) throw re;
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    }
+  }
+
+  private static Timer hashTimer(MeterRegistry registry, String operation) {
+    return Timer.builder("auth.password.hash.duration")
+            .description("BCrypt latency, excluding queueing")
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(registry);
+  }
+
+  private static ThreadFactory namedDaemonThreads() {
+    AtomicInteger seq = new AtomicInteger();
+    return r -> {
+      Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+  }
+}
@@ -1,12 +1,18 @@
 package com.agilesprintplus.security.config;
 
 import com.agilesprintplus.security.repo.TokenRepository;
+import com.agilesprintplus.security.service.AuthAuditLog;
+import com.agilesprintplus.security.service.TokenRevocationCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -24,6 +30,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
   private final UserDetailsService userDetailsService;
   private final TokenRepository tokenRepository;
   private final JwtService jwtService;
+  private final TokenRevocationCache revocationCache;
+  private final StatelessPrincipalResolver statelessPrincipalResolver;
+  private final AuthAuditLog audit;
 
   private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
 
@@ -45,6 +54,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     return false;
   }
 
+  /**
+   * Les tokens portant un jti sont vérifiés contre l'index de révocation en mémoire ;
+   * seuls les anciens tokens (sans jti) nécessitent encore la requête en base.
+   */
+  private boolean isNotRevoked(String jwt, Claims claims) {
+    if (!jwtService.isAccessToken(claims)) return false;
+    if (claims.getId() != null) {
+      return !revocationCache.isRevoked(claims.getId());
+    }
+    revocationCache.recordLegacyLookup();
+    return tokenRepository.findByTokenHash(TokenDigest.sha256Hex(jwt))
+            .map(t -> !t.isExpired() && !t.isRevoked())
+            .orElse(false);
+  }
+
+  /**
+   * En mode stateless, le principal est reconstruit depuis les claims (null si le token est périmé
+   * au regard de la security version) ; sinon, ou pour un token ancien, il est chargé en base.
+   */
+  private UserDetails loadPrincipal(Claims claims, String subject) {
+    if (statelessPrincipalResolver.supports(claims)) {
+      return statelessPrincipalResolver.resolve(claims).orElse(null);
+    }
+    return userDetailsService.loadUserByUsername(subject);
+  }
+
   @Override
   protected void doFilterInternal(
           @NonNull HttpServletRequest request,
@@ -53,11 +88,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
   ) throws ServletException, IOException {
 
     String path = request.getServletPath();
-    log.info("🔐 Processing request: {}", path);
 
     // Les endpoints publics passent directement
     if (isPublic(path)) {
-      log.info("✅ Public endpoint, skipping authentication");
       filterChain.doFilter(request, response);
       return;
     }
@@ -66,40 +99,47 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     // Pour les endpoints protégés, un token est REQUIS
     if (header == null || !header.startsWith("Bearer ")) {
-      log.warn("❌ No Bearer token found for protected endpoint: {}", path);
+      audit.record(AuthAuditLog.Outcome.MISSING_TOKEN, path, null, request.getRemoteAddr());
       response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
       response.getWriter().write("{\"error\": \"Missing or invalid authorization token\"}");
       return;
     }
 
     String jwt = header.substring(7);
-    log.info("🔑 JWT token found, subject: {}", jwtService.extractUsername(jwt));
+    String subject = null;
 
     try {
-      String subject = jwtService.extractUsername(jwt);
-      if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-        UserDetails user = userDetailsService.loadUserByUsername(subject);
-        log.info("👤 Loaded user: {} with authorities: {}", user.getUsername(), user.getAuthorities());
+      // Une seule vérification de signature : les claims validés sont réutilisés ensuite
+      Claims claims = jwtService.parseClaims(jwt);
+      subject = claims.getSubject();
 
-        boolean isValidToken = tokenRepository.findByToken(jwt)
-                .map(t -> !t.isExpired() && !t.isRevoked())
-                .orElse(false);
+      if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        UserDetails user = loadPrincipal(claims, subject);
+        boolean isValidToken = user != null && isNotRevoked(jwt, claims);
 
-        if (isValidToken && jwtService.isTokenValid(jwt, user)) {
+        if (isValidToken && jwtService.isTokenValid(claims, user)) {
           var auth = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
           auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
           SecurityContextHolder.getContext().setAuthentication(auth);
-          log.info("✅ User authenticated successfully: {} with roles: {}",
-                  user.getUsername(), user.getAuthorities());
+          audit.record(AuthAuditLog.Outcome.SUCCESS, path, subject, request.getRemoteAddr());
         } else {
-          log.warn("❌ Token validation failed for user: {}", subject);
+          audit.record(AuthAuditLog.Outcome.INVALID_TOKEN, path, subject, request.getRemoteAddr());
           response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
           response.getWriter().write("{\"error\": \"Invalid or expired token\"}");
           return;
         }
       }
+    } catch (ExpiredJwtException e) {
+      audit.record(AuthAuditLog.Outcome.EXPIRED_TOKEN, path, e.getClaims().getSubject(), request.getRemoteAddr());
+      response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+      response.getWriter().write("{\"error\": \"Authentication failed: " + e.getMessage() + "\"}");
+      return;
     } catch (Exception e) {
-      log.error("🚨 Error during authentication", e);
+      audit.record(AuthAuditLog.Outcome.INVALID_TOKEN, path, subject, request.getRemoteAddr());
+      // Token illisible ou compte inconnu : attendu, déjà compté. Le reste est une vraie erreur.
+      if (!(e instanceof JwtException || e instanceof AuthenticationException || e instanceof IllegalArgumentException)) {
+        log.error("Error during authentication", e);
+      }
       response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
       response.getWriter().write("{\"error\": \"Authentication failed: " + e.getMessage() + "\"}");
       return;
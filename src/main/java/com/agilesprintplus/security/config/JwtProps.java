@@ -10,6 +10,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public class JwtProps {
   private String secretKey;
   private long expiration;
+  /** Reconstruit le principal depuis les claims de l'access token, sans requête utilisateur. */
+  private boolean statelessPrincipal = false;
+  /** Durée de vie locale des versions de sécurité mises en cache (ms). */
+  private long securityVersionCacheTtl = 30000;
   private Refresh refreshToken = new Refresh();
   @Getter @Setter
   public static class Refresh {
@@ -1,6 +1,7 @@
 package com.agilesprintplus.security.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -8,6 +9,7 @@ import io.jsonwebtoken.security.Keys;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PostConstruct;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -16,6 +18,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -23,8 +26,33 @@ import java.util.function.Function;
 @Slf4j
 public class JwtService {
 
+  /** Claim distinguant les access tokens des refresh tokens. */
+  public static final String CLAIM_TOKEN_TYPE = "type";
+  public static final String TYPE_ACCESS = "access";
+  public static final String TYPE_REFRESH = "refresh";
+
   private final JwtProps props;
 
+  /** Clé HMAC et parser construits une seule fois (thread-safe). */
+  private Key signInKey;
+  private JwtParser parser;
+
+  @PostConstruct
+  void init() {
+    this.signInKey = getSignInKey();
+    this.parser = Jwts.parserBuilder()
+            .setSigningKey(signInKey)
+            .build();
+  }
+
+  /**
+   * Vérifie la signature et l'expiration en une seule passe et renvoie les claims validés.
+   * @throws io.jsonwebtoken.JwtException si le token est invalide ou expiré
+   */
+  public Claims parseClaims(@NonNull String token) {
+    return parser.parseClaimsJws(token).getBody();
+  }
+
   public String extractUsername(@NonNull String token) {
     return extractClaim(token, Claims::getSubject);
   }
@@ -42,48 +70,60 @@ public class JwtService {
   /** Génère un token AVEC claims (rôles, username, etc.) */
   public String generateToken(@NonNull Map<String, Object> extraClaims,
                               @NonNull org.springframework.security.core.userdetails.UserDetails userDetails) {
-    return buildToken(extraClaims, userDetails, props.getExpiration());
+    return buildToken(extraClaims, userDetails, props.getExpiration(), TYPE_ACCESS);
   }
 
   /** Refresh token: pas besoin des claims applicatifs */
   public String generateRefreshToken(@NonNull org.springframework.security.core.userdetails.UserDetails userDetails) {
     long refreshExp = props.getRefreshToken() != null ? props.getRefreshToken().getExpiration() : 0L;
-    return buildToken(new HashMap<>(), userDetails, refreshExp);
+    return buildToken(new HashMap<>(), userDetails, refreshExp, TYPE_REFRESH);
   }
 
   public boolean isTokenValid(@NonNull String token,
                               @NonNull org.springframework.security.core.userdetails.UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    return isTokenValid(extractAllClaims(token), userDetails);
+  }
+
+  /** Les tokens sans claim de type (émis avant son introduction) sont traités comme des access tokens. */
+  public boolean isAccessToken(@NonNull Claims claims) {
+    String type = claims.get(CLAIM_TOKEN_TYPE, String.class);
+    return type == null || TYPE_ACCESS.equals(type);
+  }
+
+  public boolean isRefreshToken(@NonNull Claims claims) {
+    return TYPE_REFRESH.equals(claims.get(CLAIM_TOKEN_TYPE, String.class));
+  }
+
+  /** Variante sans re-parsing : les claims proviennent déjà de {@link #parseClaims(String)}. */
+  public boolean isTokenValid(@NonNull Claims claims,
+                              @NonNull org.springframework.security.core.userdetails.UserDetails userDetails) {
+    final String username = claims.getSubject();
+    return userDetails.getUsername().equals(username) && !isTokenExpired(claims);
   }
 
   private String buildToken(@NonNull Map<String, Object> extraClaims,
                             @NonNull org.springframework.security.core.userdetails.UserDetails userDetails,
-                            long expirationMillis) {
+                            long expirationMillis,
+                            @NonNull String tokenType) {
     long now = System.currentTimeMillis();
     return Jwts.builder()
             .setClaims(extraClaims)
+            .claim(CLAIM_TOKEN_TYPE, tokenType)
+            .setId(UUID.randomUUID().toString())
             .setSubject(userDetails.getUsername())
             .setIssuedAt(new Date(now))
             .setExpiration(new Date(now + expirationMillis))
-            .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+            .signWith(signInKey, SignatureAlgorithm.HS256)
             .compact();
   }
 
-  private boolean isTokenExpired(@NonNull String token) {
-    return extractExpiration(token).before(new Date());
-  }
-
-  private Date extractExpiration(@NonNull String token) {
-    return extractClaim(token, Claims::getExpiration);
+  private static boolean isTokenExpired(@NonNull Claims claims) {
+    Date expiration = claims.getExpiration();
+    return expiration != null && expiration.before(new Date());
   }
 
   private Claims extractAllClaims(@NonNull String token) {
-    return Jwts.parserBuilder()
-            .setSigningKey(getSignInKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
+    return parseClaims(token);
   }
 
   /**
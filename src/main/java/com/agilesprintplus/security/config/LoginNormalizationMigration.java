@@ -0,0 +1,75 @@
+package com.agilesprintplus.security.config;
+
+import com.agilesprintplus.agilesprint.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Remplit {@code users.email_normalized} / {@code users.username_normalized} pour les comptes
+ * créés avant leur introduction, puis les passe en NOT NULL. Sans effet une fois la contrainte posée.
+ * <p>
+ * Les valeurs sont calculées en Java par {@link User#normalizeLogin} (et non par {@code lower(trim())} SQL,
+ * dont le trim et la casse diffèrent) pour correspondre exactement à ce que produit {@code @PrePersist}.
+ * Parcours par lots sur l'id.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class LoginNormalizationMigration implements InitializingBean {
+
+  private static final int BATCH = 500;
+
+  private final JdbcTemplate jdbc;
+
+  @Override
+  public void afterPropertiesSet() {
+    Integer nullable = jdbc.queryForObject("""
+        SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'users'
+          AND column_name IN ('email_normalized', 'username_normalized') AND is_nullable = 'YES'
+        """, Integer.class);
+    if (nullable == null || nullable == 0) return;
+
+    int migrated = 0;
+    UUID after = null;
+    while (true) {
+      List<Login> batch = after == null
+              ? jdbc.query("""
+                  SELECT id, email, username FROM users
+                  WHERE email_normalized IS NULL OR username_normalized IS NULL
+                  ORDER BY id LIMIT ?
+                  """, (rs, i) -> login(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3)), BATCH)
+              : jdbc.query("""
+                  SELECT id, email, username FROM users
+                  WHERE (email_normalized IS NULL OR username_normalized IS NULL) AND id > ?
+                  ORDER BY id LIMIT ?
+                  """, (rs, i) -> login(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3)), after, BATCH);
+      if (batch.isEmpty()) break;
+      jdbc.batchUpdate("UPDATE users SET email_normalized = ?, username_normalized = ? WHERE id = ?",
+              batch, BATCH, (ps, l) -> {
+                ps.setString(1, l.email());
+                ps.setString(2, l.username());
+                ps.setObject(3, l.id());
+              });
+      migrated += batch.size();
+      after = batch.get(batch.size() - 1).id();
+    }
+    jdbc.execute("ALTER TABLE users ALTER COLUMN email_normalized SET NOT NULL");
+    jdbc.execute("ALTER TABLE users ALTER COLUMN username_normalized SET NOT NULL");
+    log.info("Normalized login columns for {} user(s)", migrated);
+  }
+
+  private static Login login(UUID id, String email, String username) {
+    return new Login(id, User.normalizeLogin(email), User.normalizeLogin(username));
+  }
+
+  private record Login(UUID id, String email, String username) {}
+}
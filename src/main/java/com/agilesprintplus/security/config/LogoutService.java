@@ -1,6 +1,7 @@
 package com.agilesprintplus.security.config;
 
 import com.agilesprintplus.security.repo.TokenRepository;
+import com.agilesprintplus.security.service.TokenRevoker;
 import jakarta.servlet.http.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class LogoutService implements LogoutHandler {
   private final TokenRepository tokenRepository;
+  private final TokenRevoker tokenRevoker;
 
   @Override
   public void logout(HttpServletRequest request, HttpServletResponse response, Authentication authentication) {
@@ -19,10 +21,10 @@ public class LogoutService implements LogoutHandler {
     if (header == null || !header.startsWith("Bearer ")) return;
 
     String jwt = header.substring(7);
-    tokenRepository.findByToken(jwt).ifPresent(tok -> {
-      tok.setExpired(true);
-      tok.setRevoked(true);
-      tokenRepository.save(tok);
+    tokenRepository.findByTokenHash(TokenDigest.sha256Hex(jwt)).ifPresent(tok -> {
+      // Toute la famille (access + refresh) : sinon le refresh token prolongerait la session
+      if (tok.getFamilyId() != null) tokenRevoker.revokeFamily(tok.getFamilyId());
+      else tokenRevoker.revoke(tok);
     });
     SecurityContextHolder.clearContext();
   }
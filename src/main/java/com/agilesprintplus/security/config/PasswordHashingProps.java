@@ -0,0 +1,19 @@
+package com.agilesprintplus.security.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "application.security.password")
+@Getter
+@Setter
+public class PasswordHashingProps {
+  /** Facteur de coût BCrypt (4..31) ; les hashs d'un coût inférieur sont ré-encodés au login. */
+  private int bcryptStrength = 10;
+  /** Nombre de threads dédiés au hachage. */
+  private int poolSize = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+  /** Taille maximale de la file d'attente avant rejet immédiat (503). */
+  private int queueCapacity = 64;
+  /** Attente maximale d'un résultat avant abandon (ms). */
+  private long timeoutMs = 5000;
+}
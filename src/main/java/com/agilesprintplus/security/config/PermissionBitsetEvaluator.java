@@ -0,0 +1,51 @@
+package com.agilesprintplus.security.config;
+
+import com.agilesprintplus.security.entity.RoleAuthorities;
+import com.agilesprintplus.security.entity.UserPrincipal;
+import com.agilesprintplus.security.enums.Permission;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Évalue {@code hasPermission(null, 'task:read')} par un test de bit sur les permissions
+ * précalculées du principal ({@link RoleAuthorities}) au lieu d'un parcours des autorités.
+ * La cible est ignorée : les permissions de l'application sont globales.
+ */
+@Component
+public class PermissionBitsetEvaluator implements PermissionEvaluator {
+
+  private static final Map<String, Permission> BY_NAME = new HashMap<>();
+
+  static {
+    for (Permission p : Permission.values()) {
+      BY_NAME.put(p.getPermission(), p);
+      BY_NAME.put(p.name(), p);
+    }
+  }
+
+  @Override
+  public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+    if (authentication == null || !authentication.isAuthenticated()) return false;
+    Permission p = permission instanceof Permission e ? e : BY_NAME.get(String.valueOf(permission));
+    if (p == null) return false;
+
+    if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+      return principal.grants().has(p);
+    }
+    for (GrantedAuthority a : authentication.getAuthorities()) {
+      if (p.getPermission().equals(a.getAuthority())) return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+    return hasPermission(authentication, null, permission);
+  }
+}
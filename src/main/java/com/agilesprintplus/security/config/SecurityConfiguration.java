@@ -3,6 +3,8 @@ package com.agilesprintplus.security.config;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -51,6 +53,14 @@ public class SecurityConfiguration {
     return http.build();
   }
 
+  /** {@code hasPermission(...)} dans les {@code @PreAuthorize} passe par {@link PermissionBitsetEvaluator}. */
+  @Bean
+  static MethodSecurityExpressionHandler methodSecurityExpressionHandler(PermissionBitsetEvaluator permissionEvaluator) {
+    var handler = new DefaultMethodSecurityExpressionHandler();
+    handler.setPermissionEvaluator(permissionEvaluator);
+    return handler;
+  }
+
   @Bean
   CorsConfigurationSource corsConfigurationSource() {
     CorsConfiguration configuration = new CorsConfiguration();
@@ -60,7 +70,7 @@ public class SecurityConfiguration {
     configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
     configuration.setAllowedHeaders(List.of("*"));
     configuration.setAllowCredentials(true);
-    configuration.setExposedHeaders(List.of("Authorization", "Content-Disposition"));
+    configuration.setExposedHeaders(List.of("Authorization", "Content-Disposition", "ETag", "X-Total-Count"));
     configuration.setMaxAge(3600L);
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
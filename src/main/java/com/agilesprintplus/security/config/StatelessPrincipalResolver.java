@@ -0,0 +1,77 @@
+package com.agilesprintplus.security.config;
+
+import com.agilesprintplus.agilesprint.domain.Role;
+import com.agilesprintplus.agilesprint.domain.User;
+import com.agilesprintplus.security.entity.UserPrincipal;
+import com.agilesprintplus.security.service.SecurityVersionCache;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Reconstruit un {@link UserPrincipal} à partir des claims d'un access token déjà validé
+ * (mode opt-in {@code application.security.jwt.stateless-principal}).
+ * L'utilisateur obtenu est détaché : pas de mot de passe ni de relations chargées.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatelessPrincipalResolver {
+
+  public static final String CLAIM_USER_ID = "userId";
+  public static final String CLAIM_SECURITY_VERSION = "sv";
+
+  private final JwtProps props;
+  private final SecurityVersionCache securityVersions;
+
+  /** Vrai si le mode est actif et que le token porte les claims nécessaires (sinon : chargement en base). */
+  public boolean supports(Claims claims) {
+    return props.isStatelessPrincipal()
+            && claims.get(CLAIM_USER_ID) != null
+            && claims.get(CLAIM_SECURITY_VERSION) != null;
+  }
+
+  /** Vide si le token est antérieur à un changement de sécurité ou si le compte est désactivé. */
+  public Optional<UserPrincipal> resolve(Claims claims) {
+    UUID userId = UUID.fromString(claims.get(CLAIM_USER_ID, String.class));
+    long tokenVersion = ((Number) claims.get(CLAIM_SECURITY_VERSION)).longValue();
+    if (tokenVersion != securityVersions.current(userId)) {
+      return Optional.empty();
+    }
+    if (!Boolean.TRUE.equals(claims.get("enabled", Boolean.class))) {
+      return Optional.empty();
+    }
+
+    User user = User.builder()
+            .id(userId)
+            .email(claims.getSubject())
+            .username(claims.get("username", String.class))
+            .firstName(claims.get("firstName", String.class))
+            .lastName(claims.get("lastName", String.class))
+            .enabled(true)
+            .roles(rolesOf(claims))
+            .securityVersion(tokenVersion)
+            .createdAt(createdAtOf(claims))
+            .build();
+    return Optional.of(new UserPrincipal(user));
+  }
+
+  private static Set<Role> rolesOf(Claims claims) {
+    Object raw = claims.get("roles");
+    if (!(raw instanceof Collection<?> names) || names.isEmpty()) {
+      return Set.of();
+    }
+    EnumSet<Role> roles = EnumSet.noneOf(Role.class);
+    for (Object name : names) {
+      roles.add(Role.valueOf(String.valueOf(name)));
+    }
+    return roles;
+  }
+
+  private static Instant createdAtOf(Claims claims) {
+    Object raw = claims.get("createdAt");
+    return raw instanceof Number n ? Instant.ofEpochMilli(n.longValue()) : null;
+  }
+}
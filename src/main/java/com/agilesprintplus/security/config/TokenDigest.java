@@ -0,0 +1,24 @@
+package com.agilesprintplus.security.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Empreinte SHA-256 (hex, 64 caractères) sous laquelle les tokens sont stockés et recherchés :
+ * le JWT brut n'est jamais persisté.
+ */
+public final class TokenDigest {
+
+  private TokenDigest() {}
+
+  public static String sha256Hex(String token) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.agilesprintplus.security.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration unique de l'ancienne colonne {@code tokens.token} (JWT brut, varchar 512) vers
+ * {@code tokens.token_hash} (SHA-256 hex). Exécutée après la mise à jour du schéma par Hibernate
+ * et avant que le filtre JWT ne serve des requêtes ; sans effet une fois la colonne supprimée.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class TokenDigestMigration implements InitializingBean {
+
+  private final JdbcTemplate jdbc;
+
+  @Override
+  public void afterPropertiesSet() {
+    Integer legacy = jdbc.queryForObject("""
+        SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = current_schema() AND table_name = 'tokens' AND column_name = 'token'
+        """, Integer.class);
+    if (legacy == null || legacy == 0) return;
+
+    int migrated = jdbc.update("""
+        UPDATE tokens SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex')
+        WHERE token_hash IS NULL
+        """);
+    jdbc.execute("ALTER TABLE tokens DROP COLUMN token");
+    jdbc.execute("ALTER TABLE tokens ALTER COLUMN token_hash SET NOT NULL");
+    log.info("Migrated {} token(s) to SHA-256 digests and dropped tokens.token", migrated);
+  }
+}
@@ -5,7 +5,6 @@ import com.agilesprintplus.agilesprint.api.dto.UserDtos;
 import com.agilesprintplus.agilesprint.domain.User;
 import com.agilesprintplus.agilesprint.exception.BadRequestException;
 import com.agilesprintplus.agilesprint.exception.NotFoundException;
-import com.agilesprintplus.agilesprint.mapper.UserMapper;
 import com.agilesprintplus.security.dto.*;
 import com.agilesprintplus.security.entity.UserPrincipal;
 import com.agilesprintplus.security.service.AuthService;
@@ -31,7 +30,6 @@ import java.util.UUID;
 public class AuthController {
 
   private final AuthService auth;
-  private final UserMapper userMapper;
 
   @PostMapping("/register")
   public ResponseEntity<AuthenticationResponse> register(@Valid @RequestBody RegisterRequest req) {
@@ -43,6 +41,12 @@ public class AuthController {
     return ResponseEntity.ok(auth.login(req));
   }
 
+  /** Renouvelle les tokens à partir d'un refresh token (rotation, sans mot de passe). */
+  @PostMapping("/refresh")
+  public ResponseEntity<AuthenticationResponse> refresh(@Valid @RequestBody RefreshTokenRequest req) {
+    return ResponseEntity.ok(auth.refresh(req));
+  }
+
   @PreAuthorize("hasRole('ADMIN')")
   @PostMapping("/admin/users")
   public ResponseEntity<AdminUserResponse> createUser(@Valid @RequestBody UserDtos.CreateWithDefaultPassword req) {
@@ -173,9 +177,7 @@ public class AuthController {
   @PreAuthorize("isAuthenticated()")
   @GetMapping("/me")
   public ResponseEntity<UserDtos.Response> getCurrentUser(@AuthenticationPrincipal UserPrincipal currentUser) {
-    User user = currentUser.getDomainUser();
-    UserDtos.Response response = userMapper.toResponse(user);
-    return ResponseEntity.ok(response);
+    return ResponseEntity.ok(auth.currentUser(currentUser.getDomainUser().getId()));
   }
 
 }
\ No newline at end of file
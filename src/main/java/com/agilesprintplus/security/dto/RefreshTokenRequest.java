@@ -0,0 +1,5 @@
+package com.agilesprintplus.security.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(@NotBlank String refreshToken) {}
@@ -0,0 +1,74 @@
+package com.agilesprintplus.security.entity;
+
+import com.agilesprintplus.agilesprint.domain.Role;
+import com.agilesprintplus.security.enums.Permission;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.*;
+
+/**
+ * Autorités précalculées pour chaque combinaison de rôles (2^6 combinaisons, construites une fois).
+ * Une combinaison est identifiée par le masque des ordinaux de ses rôles ; elle expose une liste
+ * immuable d'autorités et un {@link EnumSet} de permissions (test de bit).
+ */
+public final class RoleAuthorities {
+
+  private static final Role[] ROLES = Role.values();
+  private static final RoleAuthorities[] BY_MASK = new RoleAuthorities[1 << ROLES.length];
+
+  static {
+    for (int mask = 0; mask < BY_MASK.length; mask++) {
+      BY_MASK[mask] = build(mask);
+    }
+  }
+
+  private final List<SimpleGrantedAuthority> authorities;
+  private final EnumSet<Permission> permissions;
+  private final int roleMask;
+
+  private RoleAuthorities(List<SimpleGrantedAuthority> authorities, EnumSet<Permission> permissions, int roleMask) {
+    this.authorities = authorities;
+    this.permissions = permissions;
+    this.roleMask = roleMask;
+  }
+
+  public static RoleAuthorities of(Collection<Role> roles) {
+    int mask = 0;
+    if (roles != null) {
+      for (Role r : roles) mask |= 1 << r.ordinal();
+    }
+    return BY_MASK[mask];
+  }
+
+  public static RoleAuthorities of(Role role) {
+    return BY_MASK[1 << role.ordinal()];
+  }
+
+  /** Permissions des rôles puis {@code ROLE_*}, sans doublon ; liste immuable partagée. */
+  public List<SimpleGrantedAuthority> authorities() {
+    return authorities;
+  }
+
+  public boolean has(Permission permission) {
+    return permissions.contains(permission);
+  }
+
+  public boolean hasRole(Role role) {
+    return (roleMask & (1 << role.ordinal())) != 0;
+  }
+
+  private static RoleAuthorities build(int mask) {
+    EnumSet<Permission> perms = EnumSet.noneOf(Permission.class);
+    List<Role> roles = new ArrayList<>();
+    for (Role r : ROLES) {
+      if ((mask & (1 << r.ordinal())) != 0) {
+        roles.add(r);
+        perms.addAll(r.getPermissions());
+      }
+    }
+    Set<SimpleGrantedAuthority> auths = new LinkedHashSet<>();
+    for (Permission p : perms) auths.add(new SimpleGrantedAuthority(p.getPermission()));
+    for (Role r : roles) auths.add(new SimpleGrantedAuthority("ROLE_" + r.name()));
+    return new RoleAuthorities(List.copyOf(auths), perms, mask);
+  }
+}
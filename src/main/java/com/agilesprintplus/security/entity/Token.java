@@ -9,6 +9,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Getter
@@ -17,15 +18,32 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "tokens")
+@Table(name = "tokens", indexes = {
+        @Index(name = "idx_tokens_jti", columnList = "jti"),
+        @Index(name = "idx_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_tokens_family_id", columnList = "family_id")
+})
 public class Token {
 
     @Id
     @GeneratedValue
     private UUID id;
 
-    @Column(unique = true, nullable = false, length = 512)
-    private String token;
+    /** SHA-256 (hex) du JWT, cf. {@link com.agilesprintplus.security.config.TokenDigest}. */
+    @Column(name = "token_hash", unique = true, length = 64)
+    private String tokenHash;
+
+    /** Identifiant JWT (claim jti) ; null pour les tokens émis avant son introduction. */
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    /** Date d'expiration du JWT (claim exp). */
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    /** Famille de rotation : refresh token et access tokens issus d'un même login. */
+    @Column(name = "family_id")
+    private UUID familyId;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -1,34 +1,34 @@
 package com.agilesprintplus.security.entity;
 
 import com.agilesprintplus.agilesprint.domain.User;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.*;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Getter
 @RequiredArgsConstructor
 public final class UserPrincipal implements UserDetails {
   private final User user;
 
+  @Getter(AccessLevel.NONE)
+  private RoleAuthorities grants;
+
+  /** Permissions puis rôles (préfixe ROLE_) ; ensemble partagé entre tous les principaux de même combinaison. */
   public Collection<? extends GrantedAuthority> getAuthorities() {
-    return user.getRoles().stream()
-            .flatMap(role -> {
-              // Inclure les permissions
-              Stream<GrantedAuthority> permissions = role.getPermissions().stream()
-                      .map(permission -> new SimpleGrantedAuthority(permission.getPermission()));
-              // Inclure le rôle avec le préfixe ROLE_
-              Stream<GrantedAuthority> roleAuthority = Stream.of(
-                      new SimpleGrantedAuthority("ROLE_" + role.name())
-              );
-              return Stream.concat(permissions, roleAuthority);
-            })
-            .collect(Collectors.toList());
+    return grants().authorities();
+  }
+
+  public RoleAuthorities grants() {
+    RoleAuthorities g = grants;
+    if (g == null) {
+      g = RoleAuthorities.of(user.getRoles());
+      grants = g;
+    }
+    return g;
   }
 
   @Override public String getPassword() { return user.getPasswordHash(); }
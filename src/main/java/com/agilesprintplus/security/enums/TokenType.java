@@ -1,5 +1,6 @@
 package com.agilesprintplus.security.enums;
 
 public enum TokenType {
-    BEARER
-}
\ No newline at end of file
+    BEARER,
+    REFRESH
+}
@@ -0,0 +1,10 @@
+package com.agilesprintplus.security.repo;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface RevokedTokenView {
+  UUID getId();
+  String getJti();
+  Instant getExpiresAt();
+}
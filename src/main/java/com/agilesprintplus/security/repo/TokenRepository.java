@@ -2,9 +2,12 @@ package com.agilesprintplus.security.repo;
 
 import com.agilesprintplus.security.entity.Token;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.*;
 
 public interface TokenRepository extends JpaRepository<Token, UUID> {
@@ -17,5 +20,51 @@ public interface TokenRepository extends JpaRepository<Token, UUID> {
   """)
   List<Token> findAllValidTokenByUser(@Param("userId") UUID userId);
 
-  Optional<Token> findByToken(String token);
+  @Query("""
+    SELECT t.id AS id, t.jti AS jti, t.expiresAt AS expiresAt FROM Token t
+    WHERE t.user.id = :userId
+      AND t.expired = false
+      AND t.revoked = false
+  """)
+  List<RevokedTokenView> findValidTokenIdsByUser(@Param("userId") UUID userId);
+
+  @Transactional
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE Token t SET t.expired = true, t.revoked = true WHERE t.id IN :ids")
+  int revokeAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+  @Query("""
+    SELECT t.id AS id, t.jti AS jti, t.expiresAt AS expiresAt FROM Token t
+    WHERE t.familyId = :familyId
+      AND t.revoked = false
+  """)
+  List<RevokedTokenView> findValidTokenIdsByFamily(@Param("familyId") UUID familyId);
+
+  /** Révoque le token s'il est encore actif ; 0 si un autre appel l'a déjà consommé. */
+  @Transactional
+  @Modifying(flushAutomatically = true)
+  @Query("UPDATE Token t SET t.expired = true, t.revoked = true WHERE t.id = :id AND t.revoked = false")
+  int revokeIfActive(@Param("id") UUID id);
+
+  /** Supprime au plus {@code batchSize} tokens expirés avant {@code cutoff} (ou révoqués sans date d'expiration). */
+  @Transactional
+  @Modifying
+  @Query(value = """
+    DELETE FROM tokens WHERE id IN (
+      SELECT id FROM tokens
+      WHERE expires_at < :cutoff
+         OR (expires_at IS NULL AND revoked = true)
+      LIMIT :batchSize)
+  """, nativeQuery = true)
+  int deleteExpiredBatch(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+
+  Optional<Token> findByTokenHash(String tokenHash);
+
+  @Query("""
+    SELECT t.id AS id, t.jti AS jti, t.expiresAt AS expiresAt FROM Token t
+    WHERE t.revoked = true
+      AND t.jti IS NOT NULL
+      AND t.expiresAt > :now
+  """)
+  List<RevokedTokenView> findRevokedUnexpired(@Param("now") Instant now);
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.agilesprintplus.security.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Journal d'audit des authentifications JWT.
+ * <p>
+ * Chaque requête est comptée (compteurs Micrometer par résultat) ; les événements détaillés sont
+ * échantillonnés puis déposés dans un tampon circulaire sans verrou, vidé par un thread dédié
+ * vers le logger {@code auth.audit}. Le thread de requête ne fait ni formatage ni I/O ;
+ * si le tampon est plein, l'événement est abandonné et comptabilisé.
+ */
+@Component
+@Slf4j
+public class AuthAuditLog {
+
+  public enum Outcome { SUCCESS, MISSING_TOKEN, INVALID_TOKEN, EXPIRED_TOKEN }
+
+  private record Event(long at, Outcome outcome, String path, String subject, String remoteAddr) {}
+
+  private static final Logger AUDIT = LoggerFactory.getLogger("auth.audit");
+
+  private final RingBuffer buffer;
+  private final double successSampleRate;
+  private final double failureSampleRate;
+  private final Map<Outcome, Counter> counters = new EnumMap<>(Outcome.class);
+  private final Counter dropped;
+  private volatile boolean running;
+  private Thread writer;
+
+  public AuthAuditLog(MeterRegistry registry,
+                      @Value("${application.security.audit.buffer-size:8192}") int bufferSize,
+                      @Value("${application.security.audit.success-sample-rate:0.01}") double successSampleRate,
+                      @Value("${application.security.audit.failure-sample-rate:1.0}") double failureSampleRate) {
+    this.buffer = new RingBuffer(bufferSize);
+    this.successSampleRate = successSampleRate;
+    this.failureSampleRate = failureSampleRate;
+    for (Outcome o : Outcome.values()) {
+      counters.put(o, Counter.builder("auth.requests")
+              .description("JWT authentication attempts on protected endpoints by outcome")
+              .tag("outcome", o.name().toLowerCase())
+              .register(registry));
+    }
+    this.dropped = Counter.builder("auth.audit.dropped")
+            .description("Audit events discarded because the buffer was full")
+            .register(registry);
+    Gauge.builder("auth.audit.pending", buffer, RingBuffer::size)
+            .description("Audit events waiting to be written")
+            .register(registry);
+  }
+
+  @PostConstruct
+  void start() {
+    running = true;
+    writer = new Thread(this::drainLoop, "auth-audit-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    LockSupport.unpark(writer);
+    writer.join(TimeUnit.SECONDS.toMillis(2));
+  }
+
+  /** Appelé sur le thread de requête : incrément de compteur et, si échantillonné, un dépôt sans verrou. */
+  public void record(Outcome outcome, String path, String subject, String remoteAddr) {
+    counters.get(outcome).increment();
+    double rate = outcome == Outcome.SUCCESS ? successSampleRate : failureSampleRate;
+    if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) return;
+    if (!buffer.offer(new Event(System.currentTimeMillis(), outcome, path, subject, remoteAddr))) {
+      dropped.increment();
+    }
+  }
+
+  private void drainLoop() {
+    while (running) {
+      if (drain() == 0) {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+      }
+    }
+    drain();
+  }
+
+  private int drain() {
+    int n = 0;
+    Event e;
+    while ((e = buffer.poll()) != null) {
+      write(e);
+      n++;
+    }
+    return n;
+  }
+
+  private static void write(Event e) {
+    try {
+      if (e.outcome() == Outcome.SUCCESS) {
+        AUDIT.info("at={} outcome={} path={} subject={} ip={}",
+                Instant.ofEpochMilli(e.at()), e.outcome(), e.path(), e.subject(), e.remoteAddr());
+      } else {
+        AUDIT.warn("at={} outcome={} path={} subject={} ip={}",
+                Instant.ofEpochMilli(e.at()), e.outcome(), e.path(), e.subject(), e.remoteAddr());
+      }
+    } catch (RuntimeException ex) {
+      log.debug("Failed to write auth audit event", ex);
+    }
+  }
+
+  /**
+   * Tampon borné multi-producteurs / consommateur unique.
+   * Un producteur réserve un indice par CAS puis publie l'événement dans la case ; le consommateur
+   * vide la case avant d'avancer la tête, ce qui la libère pour le tour suivant.
+   */
+  private static final class RingBuffer {
+    private final AtomicReferenceArray<Event> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    RingBuffer(int requested) {
+      int capacity = Integer.highestOneBit(Math.max(2, requested - 1)) << 1;
+      this.slots = new AtomicReferenceArray<>(capacity);
+      this.mask = capacity - 1;
+    }
+
+    boolean offer(Event e) {
+      while (true) {
+        long t = tail.get();
+        if (t - head.get() > mask) return false;
+        if (tail.compareAndSet(t, t + 1)) {
+          slots.set((int) (t & mask), e);
+          return true;
+        }
+      }
+    }
+
+    /** Réservé au thread d'écriture. Null si vide ou si la case suivante n'est pas encore publiée. */
+    Event poll() {
+      long h = head.get();
+      int i = (int) (h & mask);
+      Event e = slots.get(i);
+      if (e == null) return null;
+      slots.set(i, null);
+      head.lazySet(h + 1);
+      return e;
+    }
+
+    int size() {
+      return (int) Math.max(0, tail.get() - head.get());
+    }
+  }
+}
@@ -9,14 +9,18 @@ import com.agilesprintplus.agilesprint.exception.NotFoundException;
 import com.agilesprintplus.agilesprint.mapper.UserMapper;
 import com.agilesprintplus.agilesprint.repo.UserRepository;
 import com.agilesprintplus.security.config.JwtService;
+import com.agilesprintplus.security.config.TokenDigest;
 import com.agilesprintplus.security.dto.AdminUserResponse;
 import com.agilesprintplus.security.dto.AuthenticationRequest;
 import com.agilesprintplus.security.dto.AuthenticationResponse;
+import com.agilesprintplus.security.dto.RefreshTokenRequest;
 import com.agilesprintplus.security.dto.RegisterRequest;
 import com.agilesprintplus.security.entity.Token;
 import com.agilesprintplus.security.entity.UserPrincipal;
 import com.agilesprintplus.security.enums.TokenType;
 import com.agilesprintplus.security.repo.TokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
@@ -41,6 +45,9 @@ public class AuthService {
   private final JwtService jwt;
   private final AuthenticationManager authManager;
   private final UserMapper userMapper;
+  private final TokenRevoker tokenRevoker;
+  private final SecurityVersionCache securityVersions;
+  private final LoginLookupCache loginLookup;
 
   // --------------------------
   // Helpers
@@ -56,6 +63,7 @@ public class AuthService {
     claims.put("roles", u.getRoles().stream().map(Enum::name).toList());
     if (u.getId() != null) {
       claims.put("userId", u.getId().toString());
+      claims.put("sv", u.getSecurityVersion());
     }
     if (u.getCreatedAt() != null) {
       long createdAtMillis = u.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
@@ -64,25 +72,40 @@ public class AuthService {
     return claims;
   }
 
-  private void saveToken(User u, String jwtToken) {
+  /** Émet et enregistre un access token et un refresh token rattachés à la famille donnée. */
+  private AuthenticationResponse issueTokens(User u, UUID familyId) {
+    var principal = new UserPrincipal(u);
+    String access = jwt.generateToken(buildAccessClaims(u), principal);
+    String refresh = jwt.generateRefreshToken(principal);
+    saveToken(u, access, TokenType.BEARER, familyId);
+    saveToken(u, refresh, TokenType.REFRESH, familyId);
+    return new AuthenticationResponse(access, refresh);
+  }
+
+  private void saveToken(User u, String jwtToken, TokenType type, UUID familyId) {
+    Claims claims = jwt.parseClaims(jwtToken);
     Token t = new Token();
     t.setUser(u);
-    t.setToken(jwtToken);
-    t.setTokenType(TokenType.BEARER);
+    t.setTokenHash(TokenDigest.sha256Hex(jwtToken));
+    t.setJti(claims.getId());
+    t.setExpiresAt(claims.getExpiration().toInstant());
+    t.setTokenType(type);
+    t.setFamilyId(familyId);
     t.setExpired(false);
     t.setRevoked(false);
     tokens.save(t);
   }
 
   private void revokeAll(User u) {
-    var list = tokens.findAllValidTokenByUser(u.getId());
-    list.forEach(t -> { t.setExpired(true); t.setRevoked(true); });
-    tokens.saveAll(list);
+    tokenRevoker.revokeAllOfUser(u.getId());
+  }
+
+  private void revokeFamily(UUID familyId) {
+    tokenRevoker.revokeFamily(familyId);
   }
 
   private Optional<User> findByLogin(String login) {
-    return users.findByEmailIgnoreCase(login)
-            .or(() -> users.findByUsernameIgnoreCase(login));
+    return loginLookup.findByLogin(login);
   }
 
   private static String trimOrEmpty(String v) {
@@ -122,14 +145,7 @@ public class AuthService {
 
     User saved = users.save(u);
 
-    var principal = new UserPrincipal(saved);
-    Map<String, Object> claims = buildAccessClaims(saved);
-
-    String access = jwt.generateToken(claims, principal);
-    String refresh = jwt.generateRefreshToken(principal);
-    saveToken(saved, access);
-
-    return new AuthenticationResponse(access, refresh);
+    return issueTokens(saved, UUID.randomUUID());
   }
 
   @Transactional
@@ -147,14 +163,44 @@ public class AuthService {
 
     revokeAll(user);
 
-    var principal = new UserPrincipal(user);
-    Map<String, Object> claims = buildAccessClaims(user);
+    return issueTokens(user, UUID.randomUUID());
+  }
 
-    String access = jwt.generateToken(claims, principal);
-    String refresh = jwt.generateRefreshToken(principal);
-    saveToken(user, access);
+  /**
+   * Échange un refresh token contre une nouvelle paire de tokens, sans vérification de mot de passe.
+   * Le refresh token présenté est consommé (rotation) ; s'il l'a déjà été, il s'agit d'une
+   * réutilisation et toute la famille issue du même login est révoquée.
+   */
+  @Transactional(noRollbackFor = BadCredentialsException.class)
+  public AuthenticationResponse refresh(RefreshTokenRequest req) {
+    final String presented = trimOrEmpty(req.refreshToken());
+    Claims claims;
+    try {
+      claims = jwt.parseClaims(presented);
+    } catch (JwtException | IllegalArgumentException e) {
+      throw new BadCredentialsException("Invalid refresh token");
+    }
+    if (!jwt.isRefreshToken(claims)) {
+      throw new BadCredentialsException("Invalid refresh token");
+    }
 
-    return new AuthenticationResponse(access, refresh);
+    Token stored = tokens.findByTokenHash(TokenDigest.sha256Hex(presented))
+            .filter(t -> t.getTokenType() == TokenType.REFRESH)
+            .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+
+    if (tokens.revokeIfActive(stored.getId()) == 0) {
+      log.warn("Refresh token reuse detected for user {}, revoking token family {}",
+              stored.getUser().getId(), stored.getFamilyId());
+      revokeFamily(stored.getFamilyId());
+      throw new BadCredentialsException("Refresh token already used");
+    }
+
+    User user = stored.getUser();
+    if (!user.isEnabled() || user.isPasswordChangeRequired()) {
+      revokeFamily(stored.getFamilyId());
+      throw new BadCredentialsException("Account is not allowed to refresh tokens");
+    }
+    return issueTokens(user, stored.getFamilyId());
   }
 
   @Transactional
@@ -176,7 +222,7 @@ public class AuthService {
   @Transactional
   public void changePassword(UUID userId, UserDtos.ChangePassword request, UserPrincipal currentUser) {
     boolean isSelf = currentUser.getDomainUser().getId().equals(userId);
-    if (!isSelf && currentUser.getAuthorities().stream().noneMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()))) {
+    if (!isSelf && !currentUser.grants().hasRole(Role.ADMIN)) {
       throw new AccessDeniedException("You can only change your own password");
     }
 
@@ -193,6 +239,7 @@ public class AuthService {
 
     user.setPasswordHash(encoder.encode(request.newPassword()));
     user.setPasswordChangeRequired(!isSelf);
+    securityVersions.bump(user);
     users.save(user);
 
     revokeAll(user);
@@ -200,16 +247,28 @@ public class AuthService {
 
   @Transactional
   public void resetUserPassword(UUID userId, UserPrincipal currentUser) {
-    if (currentUser.getAuthorities().stream().noneMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()))) {
+    if (!currentUser.grants().hasRole(Role.ADMIN)) {
       throw new AccessDeniedException("Only administrators can reset passwords");
     }
     User user = users.findById(userId).orElseThrow(() -> new NotFoundException("User not found"));
     user.setPasswordHash(encoder.encode("kamer237"));
     user.setPasswordChangeRequired(true);
+    securityVersions.bump(user);
     users.save(user);
     revokeAll(user);
   }
 
+  /**
+   * Profil de l'utilisateur connecté, relu en base : en mode principal sans état, l'utilisateur
+   * reconstruit depuis les claims n'a ni {@code updatedAt} ni {@code passwordChangeRequired} à jour.
+   */
+  @Transactional(readOnly = true)
+  public UserDtos.Response currentUser(UUID userId) {
+    return users.findById(userId)
+            .map(userMapper::toResponse)
+            .orElseThrow(() -> new NotFoundException("User not found"));
+  }
+
   // ------- Méthodes exposées dans ton flux de "forced change" -------
   public Optional<User> findUserByEmail(String email) {
     log.info("Finding user by email: {}", email);
@@ -225,6 +284,7 @@ public class AuthService {
     log.info("Updating password for user: {}, isSelf: {}", user.getUsername(), isSelf);
     user.setPasswordHash(encoder.encode(newPassword));
     user.setPasswordChangeRequired(false);
+    securityVersions.bump(user);
     users.save(user);
     log.info("Password updated successfully for user: {}", user.getUsername());
   }
@@ -234,15 +294,10 @@ public class AuthService {
     log.info("Authenticating after password change for user: {}", user.getUsername());
     revokeAll(user);
 
-    var principal = new UserPrincipal(user);
-    Map<String, Object> claims = buildAccessClaims(user);
-
-    String access = jwt.generateToken(claims, principal);
-    String refresh = jwt.generateRefreshToken(principal);
-    saveToken(user, access);
+    AuthenticationResponse response = issueTokens(user, UUID.randomUUID());
 
     log.info("Tokens generated successfully for user: {}", user.getUsername());
-    return new AuthenticationResponse(access, refresh);
+    return response;
   }
 
   // ------- Listing utilisateurs (inchangé) -------
@@ -0,0 +1,62 @@
+package com.agilesprintplus.security.service;
+
+import com.agilesprintplus.agilesprint.domain.User;
+import com.agilesprintplus.agilesprint.repo.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Résolution login (email ou username) → utilisateur.
+ * <p>
+ * Une seule requête sur les colonnes normalisées ; l'identifiant trouvé est gardé peu de temps
+ * afin que les résolutions suivantes (UserDetailsService puis AuthService pendant un même login)
+ * passent par la clé primaire, servie par le contexte de persistance dans une même transaction.
+ * Une entrée dont l'utilisateur a changé d'email/username ou a été supprimé est ignorée.
+ */
+@Component
+public class LoginLookupCache {
+
+  private final UserRepository users;
+  private final long ttlMs;
+  private final int maxEntries;
+  private final Map<String, Entry> ids = new ConcurrentHashMap<>();
+
+  public LoginLookupCache(UserRepository users,
+                          @Value("${application.security.login-cache.ttl-ms:60000}") long ttlMs,
+                          @Value("${application.security.login-cache.max-entries:10000}") int maxEntries) {
+    this.users = users;
+    this.ttlMs = ttlMs;
+    this.maxEntries = maxEntries;
+  }
+
+  public Optional<User> findByLogin(String login) {
+    String key = User.normalizeLogin(login);
+    if (key == null || key.isEmpty()) return Optional.empty();
+
+    long now = System.currentTimeMillis();
+    Entry e = ids.get(key);
+    if (e != null && now - e.loadedAt() <= ttlMs) {
+      Optional<User> cached = users.findById(e.userId()).filter(u -> matches(u, key));
+      if (cached.isPresent()) return cached;
+    }
+    ids.remove(key);
+
+    Optional<User> found = users.findAllByNormalizedLogin(key).stream().findFirst();
+    found.ifPresent(u -> {
+      if (ids.size() >= maxEntries) ids.clear();
+      ids.put(key, new Entry(u.getId(), now));
+    });
+    return found;
+  }
+
+  private static boolean matches(User u, String key) {
+    return key.equals(User.normalizeLogin(u.getEmail())) || key.equals(User.normalizeLogin(u.getUsername()));
+  }
+
+  private record Entry(UUID userId, long loadedAt) {}
+}
@@ -0,0 +1,65 @@
+package com.agilesprintplus.security.service;
+
+import com.agilesprintplus.agilesprint.domain.User;
+import com.agilesprintplus.agilesprint.repo.UserRepository;
+import com.agilesprintplus.security.config.JwtProps;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache court (TTL) des "security versions" utilisateur.
+ * Un access token dont le claim {@code sv} ne correspond plus à la version courante est refusé,
+ * ce qui couvre les changements de rôles, les désactivations et les changements de mot de passe
+ * lorsque le principal est reconstruit depuis les claims.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecurityVersionCache {
+
+  private static final long UNKNOWN_USER = -1L;
+
+  private final UserRepository users;
+  private final JwtProps props;
+  private final Map<UUID, Entry> versions = new ConcurrentHashMap<>();
+
+  public long current(UUID userId) {
+    long now = System.currentTimeMillis();
+    Entry e = versions.get(userId);
+    if (e == null || now - e.loadedAt() > props.getSecurityVersionCacheTtl()) {
+      long version = users.findSecurityVersionById(userId).orElse(UNKNOWN_USER);
+      e = new Entry(version, now);
+      versions.put(userId, e);
+    }
+    return e.version();
+  }
+
+  /**
+   * Incrémente la version de l'utilisateur (persistée avec l'entité) et invalide l'entrée en cache,
+   * immédiatement puis à nouveau après commit pour ne pas re-cacher une valeur non encore validée.
+   */
+  public void bump(User user) {
+    user.setSecurityVersion(user.getSecurityVersion() + 1);
+    evict(user.getId());
+  }
+
+  public void evict(UUID userId) {
+    if (userId == null) return;
+    versions.remove(userId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          versions.remove(userId);
+        }
+      });
+    }
+  }
+
+  private record Entry(long version, long loadedAt) {}
+}
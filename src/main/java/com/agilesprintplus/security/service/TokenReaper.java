@@ -0,0 +1,61 @@
+package com.agilesprintplus.security.service;
+
+import com.agilesprintplus.security.repo.TokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Purge en tâche de fond des tokens expirés : suppression par lots bornés (une transaction par lot)
+ * pour éviter les verrous longs et le gonflement de la table {@code tokens}.
+ */
+@Component
+@Slf4j
+public class TokenReaper {
+
+  private final TokenRepository tokens;
+  private final Counter deletedCounter;
+  private final Timer runTimer;
+
+  @Value("${application.security.token-reaper.retention-ms:86400000}")
+  private long retentionMs;
+  @Value("${application.security.token-reaper.batch-size:1000}")
+  private int batchSize;
+  @Value("${application.security.token-reaper.max-batches-per-run:100}")
+  private int maxBatchesPerRun;
+
+  public TokenReaper(TokenRepository tokens, MeterRegistry registry) {
+    this.tokens = tokens;
+    this.deletedCounter = Counter.builder("auth.tokens.reaped")
+            .description("Expired or revoked tokens deleted by the reaper")
+            .register(registry);
+    this.runTimer = Timer.builder("auth.tokens.reaper.duration")
+            .description("Duration of a token reaper run")
+            .register(registry);
+  }
+
+  @Scheduled(initialDelayString = "${application.security.token-reaper.initial-delay-ms:60000}",
+             fixedDelayString = "${application.security.token-reaper.interval-ms:3600000}")
+  public void reap() {
+    runTimer.record(() -> {
+      Instant cutoff = Instant.now().minus(Duration.ofMillis(retentionMs));
+      long total = 0;
+      for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+        int deleted = tokens.deleteExpiredBatch(cutoff, batchSize);
+        total += deleted;
+        deletedCounter.increment(deleted);
+        if (deleted < batchSize) break;
+      }
+      if (total > 0) {
+        log.info("Token reaper deleted {} token(s) expired before {}", total, cutoff);
+      }
+    });
+  }
+}
@@ -0,0 +1,153 @@
+package com.agilesprintplus.security.service;
+
+import com.agilesprintplus.security.repo.TokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Index local des tokens révoqués (clé = claim jti).
+ * <p>
+ * Un filtre de Bloom répond "certainement pas révoqué" sans accès à la base dans le cas courant ;
+ * seuls les positifs sont confirmés dans l'ensemble exact. L'index est chargé au démarrage depuis
+ * la table {@code tokens} puis alimenté de façon synchrone par {@link #revoke(String, Instant)}.
+ * Les entrées expirées sont purgées périodiquement (le JWT est de toute façon rejeté à l'expiration).
+ */
+@Component
+@Slf4j
+public class TokenRevocationCache {
+
+  private static final int BLOOM_BITS = 1 << 20;   // 128 KiB
+  private static final int BLOOM_HASHES = 4;
+
+  private final TokenRepository tokenRepository;
+  private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+  private volatile BloomFilter bloom = new BloomFilter(BLOOM_BITS, BLOOM_HASHES);
+
+  private final Counter bloomNegative;
+  private final Counter confirmedRevoked;
+  private final Counter falsePositive;
+  private final Counter legacyLookup;
+
+  public TokenRevocationCache(TokenRepository tokenRepository, MeterRegistry registry) {
+    this.tokenRepository = tokenRepository;
+    this.bloomNegative = lookupCounter(registry, "bloom_negative");
+    this.confirmedRevoked = lookupCounter(registry, "revoked");
+    this.falsePositive = lookupCounter(registry, "false_positive");
+    this.legacyLookup = lookupCounter(registry, "legacy_db");
+    Gauge.builder("auth.revocation.cache.size", revoked, Map::size)
+            .description("Number of revoked, not yet expired token ids held in memory")
+            .register(registry);
+  }
+
+  @PostConstruct
+  void warmUp() {
+    Instant now = Instant.now();
+    tokenRepository.findRevokedUnexpired(now)
+            .forEach(t -> revoke(t.getJti(), t.getExpiresAt()));
+    log.info("Token revocation cache loaded with {} revoked token id(s)", revoked.size());
+  }
+
+  /** Marque un token comme révoqué. Sans effet pour les tokens sans jti. */
+  public synchronized void revoke(String jti, Instant expiresAt) {
+    if (jti == null) return;
+    revoked.put(jti, expiresAt != null ? expiresAt : Instant.MAX);
+    bloom.add(jti);
+  }
+
+  public boolean isRevoked(String jti) {
+    if (!bloom.mightContain(jti)) {
+      bloomNegative.increment();
+      return false;
+    }
+    if (revoked.containsKey(jti)) {
+      confirmedRevoked.increment();
+      return true;
+    }
+    falsePositive.increment();
+    return false;
+  }
+
+  /** Comptabilise une vérification faite en base (token émis sans jti). */
+  public void recordLegacyLookup() {
+    legacyLookup.increment();
+  }
+
+  /** Retire les entrées expirées et reconstruit le filtre de Bloom sur l'ensemble restant. */
+  @Scheduled(fixedDelayString = "${application.security.revocation-cache.purge-interval-ms:300000}")
+  public synchronized void purgeExpired() {
+    Instant now = Instant.now();
+    int before = revoked.size();
+    revoked.values().removeIf(exp -> exp.isBefore(now));
+    BloomFilter rebuilt = new BloomFilter(BLOOM_BITS, BLOOM_HASHES);
+    revoked.keySet().forEach(rebuilt::add);
+    bloom = rebuilt;
+    if (before != revoked.size()) {
+      log.debug("Purged {} expired entries from token revocation cache", before - revoked.size());
+    }
+  }
+
+  private static Counter lookupCounter(MeterRegistry registry, String result) {
+    return Counter.builder("auth.revocation.cache.lookups")
+            .description("Revocation checks by outcome; bloom_negative is the database-free fast path")
+            .tag("result", result)
+            .register(registry);
+  }
+
+  /** Filtre de Bloom à double hachage, sûr pour lectures concurrentes. */
+  private static final class BloomFilter {
+    private final AtomicLongArray words;
+    private final int bits;
+    private final int hashes;
+
+    BloomFilter(int bits, int hashes) {
+      this.bits = bits;
+      this.hashes = hashes;
+      this.words = new AtomicLongArray(bits >>> 6);
+    }
+
+    void add(String key) {
+      long[] h = hash(key);
+      for (int i = 0; i < hashes; i++) {
+        int bit = index(h, i);
+        long mask = 1L << bit;
+        words.getAndAccumulate(bit >>> 6, mask, (w, m) -> w | m);
+      }
+    }
+
+    boolean mightContain(String key) {
+      long[] h = hash(key);
+      for (int i = 0; i < hashes; i++) {
+        int bit = index(h, i);
+        if ((words.get(bit >>> 6) & (1L << bit)) == 0) return false;
+      }
+      return true;
+    }
+
+    private int index(long[] h, int i) {
+      return (int) Math.floorMod(h[0] + i * h[1], (long) bits);
+    }
+
+    /** Les jti sont des UUID : leurs 128 bits servent directement de double hachage. */
+    private static long[] hash(String key) {
+      try {
+        UUID id = UUID.fromString(key);
+        return new long[] { id.getMostSignificantBits(), id.getLeastSignificantBits() | 1L };
+      } catch (IllegalArgumentException e) {
+        long h1 = key.hashCode() * 0x9E3779B97F4A7C15L;
+        long h2 = Long.rotateLeft(h1, 31) * 0xC2B2AE3D27D4EB4FL;
+        return new long[] { h1, h2 | 1L };
+      }
+    }
+  }
+}
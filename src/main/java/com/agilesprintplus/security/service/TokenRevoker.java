@@ -0,0 +1,48 @@
+package com.agilesprintplus.security.service;
+
+import com.agilesprintplus.security.entity.Token;
+import com.agilesprintplus.security.repo.RevokedTokenView;
+import com.agilesprintplus.security.repo.TokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Point unique de révocation des tokens : la table {@code tokens} et l'index local
+ * {@link TokenRevocationCache} sont toujours mis à jour ensemble.
+ * Les révocations par lot font un SELECT des identifiants puis un seul UPDATE.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevoker {
+
+  private final TokenRepository tokens;
+  private final TokenRevocationCache revocationCache;
+
+  /** Toute la famille (access + refresh issus d'une même connexion). Sans effet si {@code familyId} est nul. */
+  public void revokeFamily(UUID familyId) {
+    if (familyId == null) return;
+    revoke(tokens.findValidTokenIdsByFamily(familyId));
+  }
+
+  /** Tous les tokens encore valides de l'utilisateur. */
+  public void revokeAllOfUser(UUID userId) {
+    revoke(tokens.findValidTokenIdsByUser(userId));
+  }
+
+  /** Un token isolé (émis avant l'introduction des familles). */
+  public void revoke(Token token) {
+    token.setExpired(true);
+    token.setRevoked(true);
+    tokens.save(token);
+    revocationCache.revoke(token.getJti(), token.getExpiresAt());
+  }
+
+  private void revoke(List<RevokedTokenView> valid) {
+    if (valid.isEmpty()) return;
+    tokens.revokeAllByIdIn(valid.stream().map(RevokedTokenView::getId).toList());
+    valid.forEach(t -> revocationCache.revoke(t.getJti(), t.getExpiresAt()));
+  }
+}
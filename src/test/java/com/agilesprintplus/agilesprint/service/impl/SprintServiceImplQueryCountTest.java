@@ -0,0 +1,110 @@
+package com.agilesprintplus.agilesprint.service.impl;
+
+import com.agilesprintplus.agilesprint.api.dto.SprintDtos;
+import com.agilesprintplus.agilesprint.domain.Sprint;
+import com.agilesprintplus.agilesprint.domain.Task;
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
+import com.agilesprintplus.agilesprint.mapper.SprintMapper;
+import com.agilesprintplus.agilesprint.service.ChangeFeedService;
+import com.agilesprintplus.agilesprint.service.calendar.SprintIntervalIndex;
+import com.agilesprintplus.agilesprint.service.metriques.SprintProgressLog;
+import com.agilesprintplus.agilesprint.service.search.TaskSearchIndex;
+import com.agilesprintplus.agilesprint.service.taskcount.TaskStatusCounters;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Non-régression du comptage groupé des tâches (user-021) : une page de sprints coûte deux requêtes
+ * (la page et un COUNT groupé), quel que soit le nombre de sprints de la page.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sprints;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SprintServiceImpl.class)
+class SprintServiceImplQueryCountTest {
+
+  private static final int SPRINTS = 8;
+
+  @Autowired private SprintServiceImpl sprintService;
+  @Autowired private TestEntityManager em;
+  @Autowired private EntityManagerFactory emf;
+
+  @MockitoBean private SprintMapper mapper;
+  @MockitoBean private TaskStatusCounters statusCounters;
+  @MockitoBean private ChangeFeedService changeFeed;
+  @MockitoBean private SprintIntervalIndex calendar;
+  @MockitoBean private TaskSearchIndex searchIndex;
+  @MockitoBean private SprintProgressLog progress;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    LocalDate start = LocalDate.of(2025, 1, 6);
+    for (int i = 0; i < SPRINTS; i++) {
+      Sprint sprint = new Sprint();
+      sprint.setName("Sprint " + i);
+      sprint.setStartDate(start.plusWeeks(2L * i));
+      sprint.setEndDate(start.plusWeeks(2L * i).plusDays(13));
+      em.persist(sprint);
+      for (int t = 0; t < i; t++) {
+        Task task = new Task();
+        task.setTitle("Task " + i + "-" + t);
+        task.setStatus(TaskStatus.TODO);
+        task.setSprint(sprint);
+        em.persist(task);
+      }
+    }
+    em.flush();
+    em.clear();
+    statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void listPageUsesOneGroupedCountForAllSprints() {
+    Page<SprintDtos.Response> page = sprintService.list(PageRequest.of(0, SPRINTS * 2));
+
+    assertThat(page.getContent()).hasSize(SPRINTS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+    Map<String, Long> counts = page.getContent().stream()
+            .collect(Collectors.toMap(SprintDtos.Response::name, SprintDtos.Response::tasksCount));
+    for (int i = 0; i < SPRINTS; i++) {
+      assertThat(counts).containsEntry("Sprint " + i, (long) i);
+    }
+  }
+
+  @Test
+  void partialPageAddsOnlyTheTotalCount() {
+    Page<SprintDtos.Response> page = sprintService.list(PageRequest.of(0, 2));
+
+    // Page partielle : Spring Data ajoute le COUNT total, mais toujours un seul COUNT groupé des tâches
+    assertThat(page.getContent()).hasSize(2);
+    assertThat(page.getTotalElements()).isEqualTo(SPRINTS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+  }
+}
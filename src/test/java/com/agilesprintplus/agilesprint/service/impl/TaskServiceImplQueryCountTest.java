@@ -0,0 +1,120 @@
+package com.agilesprintplus.agilesprint.service.impl;
+
+import com.agilesprintplus.agilesprint.api.dto.TaskDtos;
+import com.agilesprintplus.agilesprint.domain.Sprint;
+import com.agilesprintplus.agilesprint.domain.Task;
+import com.agilesprintplus.agilesprint.domain.TaskStatus;
+import com.agilesprintplus.agilesprint.domain.User;
+import com.agilesprintplus.agilesprint.service.ChangeFeedService;
+import com.agilesprintplus.agilesprint.service.metriques.SprintProgressLog;
+import com.agilesprintplus.agilesprint.service.metriques.SprintVelocityAccumulator;
+import com.agilesprintplus.agilesprint.service.search.TaskSearchIndex;
+import com.agilesprintplus.agilesprint.service.taskcount.TaskStatusCounters;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Non-régression du chargement groupé des assignés (user-011) : une page de tâches coûte la requête de page
+ * plus une requête {@code task_user}, qu'il y ait un ou plusieurs assignés par tâche (plus de N+1 sur
+ * {@code task.getUsers()}). La recherche est testée sur son repli SQL (index non prêt).
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tasks;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TaskServiceImpl.class)
+class TaskServiceImplQueryCountTest {
+
+  private static final int TASKS = 10;
+
+  @Autowired private TaskServiceImpl taskService;
+  @Autowired private TestEntityManager em;
+  @Autowired private EntityManagerFactory emf;
+
+  @MockitoBean private TaskSearchIndex searchIndex;
+  @MockitoBean private TaskStatusCounters statusCounters;
+  @MockitoBean private ChangeFeedService changeFeed;
+  @MockitoBean private SprintVelocityAccumulator velocity;
+  @MockitoBean private SprintProgressLog progress;
+  @MockitoBean private ObjectMapper objectMapper;
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 5})
+  void listPageLoadsAssigneesInOneQuery(int assigneesPerTask) {
+    Statistics statistics = seed(assigneesPerTask);
+
+    Page<TaskDtos.Response> page = taskService.list(PageRequest.of(0, TASKS * 2));
+
+    assertThat(page.getContent()).hasSize(TASKS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(page.getContent()).allSatisfy(t -> {
+      assertThat(t.userIds()).hasSize(assigneesPerTask);
+      assertThat(t.sprintId()).isNotNull();
+    });
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 5})
+  void searchFallbackLoadsAssigneesInOneQuery(int assigneesPerTask) {
+    Statistics statistics = seed(assigneesPerTask);
+
+    List<TaskDtos.Response> hits = taskService.searchTask("task");
+
+    assertThat(hits).hasSize(TASKS);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    assertThat(hits).allSatisfy(t -> assertThat(t.userIds()).hasSize(assigneesPerTask));
+  }
+
+  private Statistics seed(int assigneesPerTask) {
+    Sprint sprint = new Sprint();
+    sprint.setName("Sprint");
+    sprint.setStartDate(LocalDate.of(2025, 1, 6));
+    sprint.setEndDate(LocalDate.of(2025, 1, 19));
+    em.persist(sprint);
+
+    List<User> users = new ArrayList<>();
+    for (int u = 0; u < assigneesPerTask; u++) {
+      User user = new User();
+      user.setUsername("user" + u);
+      user.setEmail("user" + u + "@example.com");
+      user.setPasswordHash("x");
+      users.add(em.persist(user));
+    }
+    for (int i = 0; i < TASKS; i++) {
+      Task task = new Task();
+      task.setTitle("Task " + i);
+      task.setStatus(TaskStatus.TODO);
+      task.setSprint(sprint);
+      task.getUsers().addAll(users);
+      em.persist(task);
+    }
+    em.flush();
+    em.clear();
+    Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
+}
@@ -0,0 +1,89 @@
+package com.agilesprintplus.bench;
+
+import com.agilesprintplus.agilesprint.domain.User;
+import com.agilesprintplus.security.config.JwtProps;
+import com.agilesprintplus.security.config.JwtService;
+import com.agilesprintplus.security.entity.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU d'authentification d'une requête par JWT (user-001).
+ * <ul>
+ *   <li>{@code perRequestParsers} : chemin d'origine du filtre, trois analyses du token (log, sujet,
+ *       {@code isTokenValid}) avec à chaque fois décodage de la clé et construction d'un parser ;</li>
+ *   <li>{@code cachedParser} : {@link JwtService#parseClaims} une seule fois (clé et parser construits au
+ *       démarrage) puis {@link JwtService#isTokenValid(Claims, org.springframework.security.core.userdetails.UserDetails)}.</li>
+ * </ul>
+ * Lancement : {@code mvn test-compile} puis exécuter {@link #main} avec le classpath de test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParseBenchmark {
+
+  private String secret;
+  private JwtService jwtService;
+  private UserPrincipal principal;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    byte[] key = new byte[64];
+    new SecureRandom().nextBytes(key);
+    secret = Encoders.BASE64.encode(key);
+
+    JwtProps props = new JwtProps();
+    props.setSecretKey(secret);
+    props.setExpiration(TimeUnit.HOURS.toMillis(1));
+    jwtService = new JwtService(props);
+    ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+    User user = new User();
+    user.setEmail("dev@example.com");
+    principal = new UserPrincipal(user);
+    token = jwtService.generateToken(Map.of("roles", "DEVELOPER"), principal);
+  }
+
+  @Benchmark
+  public void perRequestParsers(Blackhole bh) {
+    bh.consume(parseWithFreshParser(token).getSubject());
+    String username = parseWithFreshParser(token).getSubject();
+    Claims claims = parseWithFreshParser(token);
+    bh.consume(username.equals(principal.getUsername()) && claims.getExpiration().after(new Date()));
+  }
+
+  @Benchmark
+  public boolean cachedParser() {
+    Claims claims = jwtService.parseClaims(token);
+    return jwtService.isTokenValid(claims, principal);
+  }
+
+  /** Ancien {@code extractAllClaims} : clé dérivée du secret et parser reconstruits à chaque appel. */
+  private Claims parseWithFreshParser(String jwt) {
+    Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(JwtParseBenchmark.class.getSimpleName()).build()).run();
+  }
+}
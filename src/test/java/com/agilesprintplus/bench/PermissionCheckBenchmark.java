@@ -0,0 +1,101 @@
+package com.agilesprintplus.bench;
+
+import com.agilesprintplus.agilesprint.domain.Role;
+import com.agilesprintplus.agilesprint.domain.User;
+import com.agilesprintplus.security.config.PermissionBitsetEvaluator;
+import com.agilesprintplus.security.entity.UserPrincipal;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Coût d'un contrôle {@code @PreAuthorize} (user-010) pour un DEVELOPER + TESTER.
+ * <ul>
+ *   <li>{@code spelHasAuthority} : chemin d'origine, autorités reconstruites par flux à chaque appel
+ *       puis parcourues par {@code hasAuthority('task:read')} ;</li>
+ *   <li>{@code spelHasPermission} : {@code hasPermission(null, 'task:read')} servi par {@link PermissionBitsetEvaluator} ;</li>
+ *   <li>{@code bitsetDirect} : l'évaluateur seul, sans SpEL.</li>
+ * </ul>
+ * Lancement : {@code mvn test-compile} puis exécuter {@link #main} avec le classpath de test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionCheckBenchmark {
+
+  private static final String PERMISSION = "task:read";
+
+  private User user;
+  private Authentication bitsetAuth;
+  private PermissionBitsetEvaluator evaluator;
+  private DefaultMethodSecurityExpressionHandler handler;
+  private SimpleMethodInvocation invocation;
+  private Expression hasAuthority;
+  private Expression hasPermission;
+
+  @Setup
+  public void setUp() throws NoSuchMethodException {
+    user = new User();
+    user.setEmail("dev@example.com");
+    user.setRoles(Set.of(Role.DEVELOPER, Role.TESTER));
+    UserPrincipal principal = new UserPrincipal(user);
+    bitsetAuth = UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+
+    evaluator = new PermissionBitsetEvaluator();
+    handler = new DefaultMethodSecurityExpressionHandler();
+    handler.setPermissionEvaluator(evaluator);
+    invocation = new SimpleMethodInvocation(this, Object.class.getMethod("toString"));
+    hasAuthority = handler.getExpressionParser().parseExpression("hasAuthority('" + PERMISSION + "')");
+    hasPermission = handler.getExpressionParser().parseExpression("hasPermission(null, '" + PERMISSION + "')");
+  }
+
+  @Benchmark
+  public boolean spelHasAuthority() {
+    Authentication auth = UsernamePasswordAuthenticationToken.authenticated(user.getEmail(), null, legacyAuthorities(user));
+    EvaluationContext ctx = handler.createEvaluationContext(() -> auth, invocation);
+    return ExpressionUtils.evaluateAsBoolean(hasAuthority, ctx);
+  }
+
+  @Benchmark
+  public boolean spelHasPermission() {
+    EvaluationContext ctx = handler.createEvaluationContext(() -> bitsetAuth, invocation);
+    return ExpressionUtils.evaluateAsBoolean(hasPermission, ctx);
+  }
+
+  @Benchmark
+  public boolean bitsetDirect() {
+    return evaluator.hasPermission(bitsetAuth, null, PERMISSION);
+  }
+
+  /** Reproduction de l'ancien {@code UserPrincipal.getAuthorities()}. */
+  private static List<GrantedAuthority> legacyAuthorities(User user) {
+    return user.getRoles().stream()
+            .flatMap(role -> Stream.concat(
+                    role.getPermissions().stream().map(p -> (GrantedAuthority) new SimpleGrantedAuthority(p.getPermission())),
+                    Stream.of(new SimpleGrantedAuthority("ROLE_" + role.name()))))
+            .collect(Collectors.toList());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PermissionCheckBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,137 @@
+package com.agilesprintplus.bench;
+
+import com.agilesprintplus.agilesprint.service.search.TaskSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche de tâches sur 500 000 tâches (user-013) : {@link TaskSearchIndex} contre la requête
+ * {@code LOWER(...) LIKE '%mot%'} d'origine (page de 50 + COUNT, comme {@code TaskRepository.search}),
+ * exécutée sur H2 en mémoire pour écarter le réseau. Les textes sont générés à partir d'un vocabulaire
+ * fixe de 4 096 mots, avec une graine constante.
+ * Lancement : {@code mvn test-compile} puis exécuter {@link #main} avec le classpath de test.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TaskSearchBenchmark {
+
+  private static final int TASKS = 500_000;
+  private static final int VOCABULARY = 4_096;
+  private static final int PAGE_SIZE = 50;
+  private static final String[] SYLLABLES = {
+          "ba", "ce", "di", "fo", "gu", "la", "me", "ni", "po", "ru", "sa", "te", "vi", "zo", "ka", "lu"};
+
+  /** Mot rare, fréquent, et deux mots (ET) pour l'index ; le LIKE ne cherche que le premier. */
+  @Param({"rare", "frequent", "two-terms"})
+  public String query;
+
+  private TaskSearchIndex index;
+  private Connection h2;
+  private PreparedStatement likePage;
+  private PreparedStatement likeCount;
+  private String indexQuery;
+  private String likeKeyword;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    Random random = new Random(42);
+    String[] words = new String[VOCABULARY];
+    for (int i = 0; i < VOCABULARY; i++) {
+      words[i] = SYLLABLES[i % 16] + SYLLABLES[(i / 16) % 16] + SYLLABLES[(i / 256) % 16] + "x";
+    }
+
+    h2 = DriverManager.getConnection("jdbc:h2:mem:search-bench;MODE=PostgreSQL", "sa", "");
+    try (Statement st = h2.createStatement()) {
+      st.execute("CREATE TABLE tasks (id UUID PRIMARY KEY, title VARCHAR(255), description VARCHAR(1000))");
+    }
+    List<TaskSearchIndex.Doc> docs = new ArrayList<>(TASKS);
+    try (PreparedStatement insert = h2.prepareStatement("INSERT INTO tasks VALUES (?, ?, ?)")) {
+      for (int i = 0; i < TASKS; i++) {
+        TaskSearchIndex.Doc d = new TaskSearchIndex.Doc(UUID.randomUUID(), text(random, words, 4), text(random, words, 20));
+        docs.add(d);
+        insert.setObject(1, d.taskId());
+        insert.setString(2, d.title());
+        insert.setString(3, d.description());
+        insert.addBatch();
+        if (i % 5_000 == 4_999) insert.executeBatch();
+      }
+      insert.executeBatch();
+    }
+
+    // Hors transaction : l'index est alimenté immédiatement
+    index = new TaskSearchIndex(null);
+    index.indexAllAfterCommit(docs);
+
+    String rare = words[VOCABULARY - 1];
+    String frequent = words[0];
+    switch (query) {
+      case "rare" -> { indexQuery = rare; likeKeyword = rare; }
+      case "frequent" -> { indexQuery = frequent; likeKeyword = frequent; }
+      default -> { indexQuery = frequent + " " + words[1]; likeKeyword = frequent; }
+    }
+    likePage = h2.prepareStatement("""
+        SELECT id, title, description FROM tasks
+        WHERE LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(description) LIKE LOWER(CONCAT('%', ?, '%'))
+        LIMIT ?
+        """);
+    likeCount = h2.prepareStatement("""
+        SELECT COUNT(*) FROM tasks
+        WHERE LOWER(title) LIKE LOWER(CONCAT('%', ?, '%')) OR LOWER(description) LIKE LOWER(CONCAT('%', ?, '%'))
+        """);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    h2.close();
+  }
+
+  @Benchmark
+  public TaskSearchIndex.Result index() {
+    return index.search(indexQuery, 0, PAGE_SIZE);
+  }
+
+  @Benchmark
+  public void like(Blackhole bh) throws SQLException {
+    likePage.setString(1, likeKeyword);
+    likePage.setString(2, likeKeyword);
+    likePage.setInt(3, PAGE_SIZE);
+    try (ResultSet rs = likePage.executeQuery()) {
+      while (rs.next()) bh.consume(rs.getObject(1));
+    }
+    likeCount.setString(1, likeKeyword);
+    likeCount.setString(2, likeKeyword);
+    try (ResultSet rs = likeCount.executeQuery()) {
+      rs.next();
+      bh.consume(rs.getLong(1));
+    }
+  }
+
+  /** Distribution biaisée vers le début du vocabulaire, comme un texte réel. */
+  private static String text(Random random, String[] words, int length) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      double u = random.nextDouble();
+      if (i > 0) sb.append(' ');
+      sb.append(words[(int) (u * u * u * words.length)]);
+    }
+    return sb.toString();
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(TaskSearchBenchmark.class.getSimpleName()).build()).run();
+  }
+}
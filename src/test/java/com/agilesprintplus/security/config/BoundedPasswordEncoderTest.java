@@ -0,0 +1,111 @@
+package com.agilesprintplus.security.config;
+
+import com.agilesprintplus.agilesprint.exception.ApiErrorResponse;
+import com.agilesprintplus.agilesprint.exception.GlobalExceptionHandler;
+import com.agilesprintplus.agilesprint.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Rafale de logins concurrents (user-006) : au-delà de {@code poolSize + queueCapacity} hachages en cours,
+ * les appels sont rejetés immédiatement en 503 au lieu de s'empiler derrière BCrypt.
+ */
+class BoundedPasswordEncoderTest {
+
+  private static final int STRENGTH = 12;
+  private static final int CONCURRENT_LOGINS = 16;
+  private static String hash;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private BoundedPasswordEncoder encoder;
+
+  @BeforeAll
+  static void hashOnce() {
+    hash = new BCryptPasswordEncoder(STRENGTH).encode("secret");
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (encoder != null) encoder.destroy();
+  }
+
+  @Test
+  void burstBeyondQueueIsRejectedWithoutWaiting() throws Exception {
+    encoder = new BoundedPasswordEncoder(props(1, 2, 30_000), registry);
+
+    record Outcome(boolean accepted, long nanos) {}
+    ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_LOGINS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Outcome>> futures = new ArrayList<>();
+    for (int i = 0; i < CONCURRENT_LOGINS; i++) {
+      futures.add(clients.submit(() -> {
+        start.await();
+        long t0 = System.nanoTime();
+        try {
+          assertThat(encoder.matches("secret", hash)).isTrue();
+          return new Outcome(true, System.nanoTime() - t0);
+        } catch (ServiceUnavailableException e) {
+          return new Outcome(false, System.nanoTime() - t0);
+        }
+      }));
+    }
+    start.countDown();
+    List<Outcome> outcomes = new ArrayList<>();
+    for (Future<Outcome> f : futures) outcomes.add(f.get(60, TimeUnit.SECONDS));
+    clients.shutdown();
+
+    List<Outcome> accepted = outcomes.stream().filter(Outcome::accepted).toList();
+    List<Outcome> rejected = outcomes.stream().filter(o -> !o.accepted()).toList();
+    assertThat(accepted).isNotEmpty();
+    assertThat(rejected).isNotEmpty();
+    assertThat(registry.get("auth.password.hash.rejected").counter().count()).isEqualTo(rejected.size());
+
+    // Un rejet ne coûte pas un hachage : il revient avant le plus rapide des logins acceptés
+    long slowestRejection = rejected.stream().mapToLong(Outcome::nanos).max().orElseThrow();
+    long fastestAccepted = accepted.stream().mapToLong(Outcome::nanos).min().orElseThrow();
+    assertThat(slowestRejection).isLessThan(fastestAccepted);
+  }
+
+  @Test
+  void waitBeyondTimeoutIsRejected() {
+    encoder = new BoundedPasswordEncoder(props(1, 4, 1), registry);
+
+    assertThatThrownBy(() -> encoder.matches("secret", hash)).isInstanceOf(ServiceUnavailableException.class);
+    assertThat(registry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void rejectionIsServedAs503WithRetryAfter() {
+    ServletWebRequest req = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/auth/authenticate"));
+
+    ResponseEntity<ApiErrorResponse> response = new GlobalExceptionHandler()
+            .handleUnavailable(new ServiceUnavailableException("Authentication service is busy, please retry"), req);
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+  }
+
+  private static PasswordHashingProps props(int poolSize, int queueCapacity, long timeoutMs) {
+    PasswordHashingProps props = new PasswordHashingProps();
+    props.setBcryptStrength(STRENGTH);
+    props.setPoolSize(poolSize);
+    props.setQueueCapacity(queueCapacity);
+    props.setTimeoutMs(timeoutMs);
+    return props;
+  }
+}